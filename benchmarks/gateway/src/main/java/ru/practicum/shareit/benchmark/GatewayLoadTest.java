@@ -0,0 +1,134 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Нагрузочный тест запущенного gateway: держит заданное число одновременных соединений
+ * и считает пропускную способность, задержки и ошибки.
+ * Используется для сравнения обычного пула потоков Tomcat и режима виртуальных потоков
+ * ({@code SPRING_THREADS_VIRTUAL_ENABLED=true}).
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmark.GatewayLoadTest \
+ *     --url=http://localhost:8080/bookings --user-id=1 --concurrency=2000 --duration=30
+ * </pre>
+ */
+public final class GatewayLoadTest {
+
+    private GatewayLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(arg(args, "url", "http://localhost:8080/users"));
+        String userId = arg(args, "user-id", "1");
+        int concurrency = Integer.parseInt(arg(args, "concurrency", "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, "duration", "30")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(arg(args, "timeout", "30")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", userId)
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<WorkerResult>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> runWorker(client, request, deadline)));
+            }
+        }
+
+        WorkerResult total = new WorkerResult();
+        for (Future<WorkerResult> future : futures) {
+            total.merge(future.get());
+        }
+        report(uri, concurrency, duration, total);
+    }
+
+    private static WorkerResult runWorker(HttpClient client, HttpRequest request, long deadline) {
+        WorkerResult result = new WorkerResult();
+        while (System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    result.errors++;
+                } else {
+                    result.addLatency(System.nanoTime() - started);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            } catch (Exception e) {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+
+    private static void report(URI uri, int concurrency, Duration duration, WorkerResult total) {
+        long[] latencies = Arrays.copyOf(total.latencies, total.count);
+        Arrays.sort(latencies);
+        System.out.printf("url:          %s%n", uri);
+        System.out.printf("concurrency:  %d%n", concurrency);
+        System.out.printf("duration:     %ds%n", duration.toSeconds());
+        System.out.printf("requests:     %d (errors: %d)%n", total.count, total.errors);
+        System.out.printf("throughput:   %.1f req/s%n", (double) total.count / duration.toSeconds());
+        System.out.printf("latency p50:  %.2f ms%n", percentile(latencies, 0.50));
+        System.out.printf("latency p99:  %.2f ms%n", percentile(latencies, 0.99));
+        System.out.printf("latency max:  %.2f ms%n", percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static String arg(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private static class WorkerResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void addLatency(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(WorkerResult other) {
+            for (int i = 0; i < other.count; i++) {
+                addLatency(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает проксирование ответа сервера через {@link BaseClient} в двух режимах:
+ * с разбором тела в дерево объектов и повторной сериализацией (как делает Spring MVC для
+ * {@code ResponseEntity<Object>}) и с передачей сырых байтов.
+ * Запускать с {@code -prof gc}, чтобы увидеть разницу в аллокациях на операцию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayProxyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private ProxyClient parsingClient;
+    private ProxyClient passthroughClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] body = bookingsJson(bookings).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        String serverUrl = "http://localhost:" + server.getAddress().getPort() + "/bookings";
+        parsingClient = new ProxyClient(serverUrl, false);
+        passthroughClient = new ProxyClient(serverUrl, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public long parseAndReserialize() throws IOException {
+        return writeToCaller(parsingClient.fetch());
+    }
+
+    @Benchmark
+    public long passthrough() throws IOException {
+        return writeToCaller(passthroughClient.fetch());
+    }
+
+    /**
+     * Повторяет то, что контроллер gateway делает с телом ответа при записи его клиенту.
+     */
+    private long writeToCaller(ResponseEntity<Object> response) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        if (response.getBody() instanceof byte[] bytes) {
+            out.write(bytes);
+        } else {
+            objectMapper.writeValue(out, response.getBody());
+        }
+        return out.count;
+    }
+
+    private static String bookingsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"2024-08-01T10:00:00\",\"end\":\"2024-08-02T10:00:00\"")
+                    .append(",\"item\":{\"id\":").append(i).append(",\"name\":\"Дрель ").append(i)
+                    .append("\",\"description\":\"Простая дрель\",\"available\":true}")
+                    .append(",\"booker\":{\"id\":1,\"name\":\"user\",\"email\":\"user@user.com\"}")
+                    .append(",\"status\":\"APPROVED\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static class ProxyClient extends BaseClient {
+
+        ProxyClient(String serverUrl, boolean passthrough) {
+            super(
+                    new RestTemplateBuilder()
+                            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                            .build(),
+                    passthrough
+            );
+        }
+
+        ResponseEntity<Object> fetch() {
+            return get("", 1L, null);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подтверждение и отклонение всех бронирований владельца: по одному запросу на бронирование против одного запроса
+ * на список. Вызовы по очереди подтверждают и отклоняют одни и те же бронирования, чтобы статус каждый раз менялся.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingApproveAllBenchmark {
+
+    @Param({"10"})
+    private int items;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    private ShareItDataset dataset;
+    private BookingService bookingService;
+    private long ownerId;
+    private List<Long> bookingIds;
+    private boolean approved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.create(items, bookingsPerItem);
+        bookingService = dataset.getBean(BookingService.class);
+        ownerId = dataset.getOwner().getId();
+        bookingIds = dataset.getBean(BookingRepository.class).findAll().stream()
+                .map(Booking::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<BookingFullDto> oneByOne() {
+        approved = !approved;
+        List<BookingFullDto> result = new ArrayList<>(bookingIds.size());
+        for (Long id : bookingIds) {
+            result.add(bookingService.approve(ownerId, id, approved));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingApprovalResultDto> approveAll() {
+        approved = !approved;
+        return bookingService.approveAll(ownerId, bookingIds, approved);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускная способность создания бронирований. Бронирования одной вещи создаются по очереди под блокировкой вещи,
+ * поэтому при {@code items=1} потоки ждут друг друга, а бронирования разных вещей идут параллельно.
+ * Окна бронирований не пересекаются, чтобы мерить блокировки, а не отказы. Число потоков задаётся {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingCreateBenchmark {
+
+    @Param({"1", "64"})
+    private int items;
+
+    private ShareItDataset dataset;
+    private BookingService bookingService;
+    private List<Item> itemList;
+    private long bookerId;
+    private LocalDateTime first;
+    private final AtomicLong nextHour = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.create(items, 0);
+        bookingService = dataset.getBean(BookingService.class);
+        itemList = dataset.getItems();
+        bookerId = dataset.getBooker().getId();
+        first = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public BookingFullDto create() {
+        LocalDateTime start = first.plusHours(nextHour.getAndIncrement());
+        Item item = itemList.get(ThreadLocalRandom.current().nextInt(itemList.size()));
+        return bookingService.create(bookerId, BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusMinutes(30))
+                .build());
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения нового бронирования с подтверждёнными бронированиями одной вещи: интервалы в памяти
+ * и запрос последнего бронирования, начавшегося раньше конца окна, против выборки всех пересекающихся бронирований
+ * и перебора всех бронирований вещи. Бронирования по часу идут друг за другом с часовыми промежутками.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingOverlapBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String OVERLAPPING_SQL = "SELECT COUNT(*) FROM bookings" +
+            " WHERE item_id = ? AND status = 'APPROVED' AND start_date < ? AND end_date > ?";
+
+    private static final String ALL_SQL = "SELECT start_date, end_date FROM bookings" +
+            " WHERE item_id = ? AND status = 'APPROVED'";
+
+    @Param({"100000"})
+    private int bookings;
+
+    private ShareItDataset dataset;
+    private ItemBookingIntervals intervals;
+    private BookingRepository bookingRepository;
+    private JdbcTemplate jdbcTemplate;
+    private long itemId;
+    private LocalDateTime first;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.start();
+        User owner = dataset.getBean(UserRepository.class)
+                .save(User.builder().name("owner").email("owner@mail.com").build());
+        Item item = dataset.getBean(ItemRepository.class).save(Item.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .user(owner)
+                .build());
+        itemId = item.getId();
+        jdbcTemplate = dataset.getBean(JdbcTemplate.class);
+        bookingRepository = dataset.getBean(BookingRepository.class);
+        intervals = dataset.getBean(ItemBookingIntervals.class);
+        first = LocalDateTime.now().withNano(0);
+        insertBookings(owner.getId());
+        intervals.overlapsApproved(itemId, first, first);
+    }
+
+    private void insertBookings(long bookerId) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = first.plusHours(2L * i);
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), itemId, bookerId});
+            if (batch.size() == BATCH_SIZE || i == bookings - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)"
+                        + " VALUES (?, ?, ?, ?, 'APPROVED')", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    /**
+     * Окно в полчаса в случайном месте: попадает то в бронирование, то в промежуток.
+     */
+    private LocalDateTime randomStart() {
+        return first.plusMinutes(30L * random.nextInt(bookings * 4));
+    }
+
+    @Benchmark
+    public boolean inMemory() {
+        LocalDateTime start = randomStart();
+        return intervals.overlapsApproved(itemId, start, start.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean previousApproved() {
+        LocalDateTime start = randomStart();
+        LocalDateTime end = start.plusMinutes(30);
+        return bookingRepository.findLatestByItemIdAndStatusStartedBefore(itemId, BookingStatus.APPROVED, end,
+                        PageRequest.of(0, 1)).stream()
+                .anyMatch(previous -> previous.getEnd().isAfter(start));
+    }
+
+    @Benchmark
+    public boolean overlappingCount() {
+        LocalDateTime start = randomStart();
+        Integer count = jdbcTemplate.queryForObject(OVERLAPPING_SQL, Integer.class, itemId,
+                Timestamp.valueOf(start.plusMinutes(30)), Timestamp.valueOf(start));
+        return count != null && count > 0;
+    }
+
+    @Benchmark
+    public boolean scanAll() {
+        LocalDateTime start = randomStart();
+        LocalDateTime end = start.plusMinutes(30);
+        return jdbcTemplate.query(ALL_SQL, rs -> {
+            while (rs.next()) {
+                if (rs.getTimestamp("start_date").toLocalDateTime().isBefore(end)
+                        && rs.getTimestamp("end_date").toLocalDateTime().isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }, itemId);
+    }
+}
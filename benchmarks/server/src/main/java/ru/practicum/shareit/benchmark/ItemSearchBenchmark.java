@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей: прежний {@code like '%text%'} против полнотекстового индекса {@code item_search_tokens}
+ * (точного и с опечатками) и триграммного индекса в памяти.
+ * Вещи вставляются пакетами через JDBC, токены строятся так же, как при старте сервера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] NOUNS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповерт", "пила", "рюкзак", "проектор", "гитара", "удочка", "каяк", "сноуборд", "лыжи", "мангал"};
+    private static final String[] ADJECTIVES = {"ударная", "аккумуляторная", "складная", "детская", "туристическая",
+            "электрическая", "лёгкая", "профессиональная"};
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000000"})
+    private int items;
+
+    @Param({"дрель", "дрель ударная"})
+    private String text;
+
+    @Param({"20"})
+    private int size;
+
+    private ShareItDataset dataset;
+    private ItemSearchEngine like;
+    private ItemSearchEngine fullText;
+    private ItemSearchEngine inMemory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.start("shareit.search.engine=database");
+        User owner = dataset.getBean(UserRepository.class)
+                .save(User.builder().name("owner").email("owner@mail.com").build());
+        JdbcTemplate jdbcTemplate = dataset.getBean(JdbcTemplate.class);
+        ItemRepository itemRepository = dataset.getBean(ItemRepository.class);
+        insertItems(jdbcTemplate, owner.getId());
+        dataset.getBean(DatabaseItemSearchEngine.class).indexMissing();
+
+        like = new LikeItemSearchEngine(itemRepository);
+        fullText = dataset.getBean(ItemSearchEngine.class);
+        InMemoryItemSearchEngine inMemoryEngine = new InMemoryItemSearchEngine(jdbcTemplate, itemRepository,
+                dataset.getBean(NamedParameterJdbcTemplate.class));
+        inMemoryEngine.rebuild();
+        inMemory = inMemoryEngine;
+    }
+
+    private void insertItems(JdbcTemplate jdbcTemplate, long ownerId) {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = Integer.toString(i * 7919 + 100_000, 36);
+        }
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < items; i++) {
+            String name = NOUNS[random.nextInt(NOUNS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String description = vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)];
+            batch.add(new Object[]{name, description, random.nextInt(10) != 0, ownerId});
+            if (batch.size() == BATCH_SIZE || i == items - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available, owner_id)"
+                        + " VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<Item> like() {
+        return like.search(text, null, 0, size);
+    }
+
+    @Benchmark
+    public List<Item> fullText() {
+        return fullText.search(text, null, 0, size);
+    }
+
+    @Benchmark
+    public List<Item> fullTextSimilar() {
+        return fullText.searchSimilar(text, 0.3, null, 0, size);
+    }
+
+    @Benchmark
+    public List<Item> inMemory() {
+        return inMemory.search(text, null, 0, size);
+    }
+}
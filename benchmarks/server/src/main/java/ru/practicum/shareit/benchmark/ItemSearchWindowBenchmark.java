@@ -0,0 +1,153 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.BookingWindow;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей, свободных в периоде: условие {@code NOT EXISTS} в запросе полнотекстового поиска и проверка пачками
+ * в поиске по индексу в памяти против проверки бронирований каждой найденной вещи отдельным запросом.
+ * У каждой вещи одно подтверждённое бронирование на сутки в один из десяти дней, период занимает половину из них.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchWindowBenchmark {
+
+    private static final String[] NOUNS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповерт", "пила", "рюкзак", "проектор", "гитара", "удочка", "каяк", "сноуборд", "лыжи", "мангал"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int DAYS = 10;
+
+    @Param({"100000"})
+    private int items;
+
+    @Param({"20"})
+    private int size;
+
+    private final String text = "дрель";
+
+    private ShareItDataset dataset;
+    private ItemSearchEngine fullText;
+    private ItemSearchEngine inMemory;
+    private ItemBookingIntervals intervals;
+    private BookingWindow window;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.start("shareit.search.engine=database");
+        User owner = dataset.getBean(UserRepository.class)
+                .save(User.builder().name("owner").email("owner@mail.com").build());
+        JdbcTemplate jdbcTemplate = dataset.getBean(JdbcTemplate.class);
+        ItemRepository itemRepository = dataset.getBean(ItemRepository.class);
+        LocalDateTime first = LocalDateTime.now().plusDays(1).withNano(0);
+        insertItems(jdbcTemplate, owner.getId());
+        insertBookings(jdbcTemplate, owner.getId(), first);
+        dataset.getBean(DatabaseItemSearchEngine.class).indexMissing();
+
+        fullText = dataset.getBean(ItemSearchEngine.class);
+        InMemoryItemSearchEngine inMemoryEngine = new InMemoryItemSearchEngine(jdbcTemplate, itemRepository,
+                dataset.getBean(NamedParameterJdbcTemplate.class));
+        inMemoryEngine.rebuild();
+        inMemory = inMemoryEngine;
+        intervals = dataset.getBean(ItemBookingIntervals.class);
+        window = new BookingWindow(first, first.plusDays(DAYS / 2));
+    }
+
+    private void insertItems(JdbcTemplate jdbcTemplate, long ownerId) {
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < items; i++) {
+            String name = NOUNS[random.nextInt(NOUNS.length)];
+            batch.add(new Object[]{name, name + " " + i, true, ownerId});
+            if (batch.size() == BATCH_SIZE || i == items - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available, owner_id)"
+                        + " VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void insertBookings(JdbcTemplate jdbcTemplate, long bookerId, LocalDateTime first) {
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT item_id FROM items", Long.class);
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < itemIds.size(); i++) {
+            LocalDateTime start = first.plusDays(random.nextInt(DAYS));
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemIds.get(i),
+                    bookerId});
+            if (batch.size() == BATCH_SIZE || i == itemIds.size() - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)"
+                        + " VALUES (?, ?, ?, ?, 'APPROVED')", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<Item> notExists() {
+        return fullText.search(text, window, 0, size);
+    }
+
+    @Benchmark
+    public List<Item> inMemoryBatches() {
+        return inMemory.search(text, window, 0, size);
+    }
+
+    /**
+     * Страницы поиска без периода, у каждой найденной вещи бронирования проверяются отдельным запросом.
+     */
+    @Benchmark
+    public List<Item> perItemLookup() {
+        List<Item> result = new ArrayList<>(size);
+        for (int from = 0; result.size() < size; from += size) {
+            List<Item> page = fullText.search(text, null, from, size);
+            for (Item item : page) {
+                if (result.size() < size
+                        && !intervals.overlapsApprovedInDatabase(item.getId(), window.start(), window.end())) {
+                    result.add(item);
+                }
+            }
+            if (page.size() < size) {
+                break;
+            }
+        }
+        return result;
+    }
+}
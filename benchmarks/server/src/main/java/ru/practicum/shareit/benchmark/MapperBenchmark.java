@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapperImpl;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает отображение списков сущностей в DTO через ModelMapper (как было раньше)
+ * и через сгенерированные MapStruct-мапперы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final Type BOOKING_LIST_TYPE = new TypeToken<Collection<BookingFullDto>>() {
+    }.getType();
+    private static final Type ITEM_LIST_TYPE = new TypeToken<Collection<ItemFullDto>>() {
+    }.getType();
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ModelMapper modelMapper;
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        itemMapper = new ItemMapperImpl(new ItemRequestMapperImpl());
+        bookingMapper = new BookingMapperImpl(itemMapper, new UserMapperImpl());
+
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        ItemRequest request = new ItemRequest(1L, "Нужна дрель", booker, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "Дрель " + i, "Простая дрель", true, owner, i % 2 == 0 ? request : null,
+                    null, null);
+            items.add(item);
+            bookings.add(new Booking(i, now.plusDays(i), now.plusDays(i + 1), item, booker, BookingStatus.APPROVED));
+        }
+    }
+
+    @Benchmark
+    public Collection<BookingFullDto> bookingsModelMapper() {
+        return modelMapper.map(bookings, BOOKING_LIST_TYPE);
+    }
+
+    @Benchmark
+    public Collection<BookingFullDto> bookingsMapStruct() {
+        return bookingMapper.toBookingFullDtos(bookings);
+    }
+
+    @Benchmark
+    public Collection<ItemFullDto> itemsModelMapper() {
+        return modelMapper.map(items, ITEM_LIST_TYPE);
+    }
+
+    @Benchmark
+    public Collection<ItemFullDto> itemsMapStruct() {
+        return itemMapper.toItemFullDtos(items);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStateParameter;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestGetDto;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие пути сервисов сервера на наборе данных в H2:
+ * вещи владельца, бронирования арендатора и лента запросов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int items;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    private ShareItDataset dataset;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService itemRequestService;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = ShareItDataset.create(items, bookingsPerItem);
+        itemService = dataset.getBean(ItemService.class);
+        bookingService = dataset.getBean(BookingService.class);
+        itemRequestService = dataset.getBean(ItemRequestService.class);
+        ownerId = dataset.getOwner().getId();
+        bookerId = dataset.getBooker().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Collection<ItemFullDto> getItemsOfOwner() {
+        return itemService.getItemsOfOwner(ownerId);
+    }
+
+    @Benchmark
+    public Collection<BookingFullDto> getAllByUserIdWithState() {
+        return bookingService.getAllByUserIdWithState(bookerId, BookingStateParameter.ALL, 0, 20, null, null);
+    }
+
+    @Benchmark
+    public Collection<ItemRequestGetDto> getAllItemRequests() {
+        return itemRequestService.getAllItemRequests(0, 20, null, null);
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingReferences;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Поднимает контекст сервера на отдельной in-memory базе H2 (профиль test)
+ * и заполняет её набором данных заданного размера.
+ */
+public final class ShareItDataset {
+
+    private static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповерт", "пила", "рюкзак", "проектор", "гитара", "удочка", "каяк", "сноуборд", "лыжи", "мангал"};
+
+    private final ConfigurableApplicationContext context;
+    private User owner;
+    private User booker;
+    private final List<Item> items = new ArrayList<>();
+
+    private ShareItDataset(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @param items           число вещей владельца; для каждой второй вещи создаётся запрос
+     * @param bookingsPerItem число бронирований каждой вещи (прошедшие и будущие вперемешку)
+     */
+    public static ShareItDataset create(int items, int bookingsPerItem, String... properties) {
+        ShareItDataset dataset = start(properties);
+        dataset.populate(items, bookingsPerItem);
+        return dataset;
+    }
+
+    /**
+     * Поднимает контекст на пустой базе, данные заполняет вызывающий код.
+     */
+    public static ShareItDataset start(String... properties) {
+        // передаются как аргументы командной строки, чтобы перекрыть application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        return new ShareItDataset(context);
+    }
+
+    private void populate(int itemCount, int bookingsPerItem) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        ItemRequestRepository itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < itemCount / 2; i++) {
+            requests.add(ItemRequest.builder()
+                    .description("Нужен " + word(i))
+                    .requester(booker)
+                    .created(now.minusMinutes(i))
+                    .build());
+        }
+        requests = itemRequestRepository.saveAll(requests);
+
+        List<Item> newItems = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            newItems.add(Item.builder()
+                    .name(word(i) + " " + i)
+                    .description("Отличный " + word(i + 7) + " и " + word(i + 3) + " для аренды")
+                    .available(true)
+                    .user(owner)
+                    .request(i % 2 == 0 && i / 2 < requests.size() ? requests.get(i / 2) : null)
+                    .build());
+        }
+        items.addAll(itemRepository.saveAll(newItems));
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = now.plusDays((long) (j - bookingsPerItem / 2) * 3);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(start)
+                        .end(start.plusDays(2))
+                        .status(j % 3 == 0 ? BookingStatus.WAITING : BookingStatus.APPROVED)
+                        .build());
+            }
+            comments.add(Comment.builder()
+                    .item(item)
+                    .author(booker)
+                    .text("Всё понравилось, " + item.getName())
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        // бронирования сохранены мимо сервиса, ссылки на последнее и следующее бронирование заполняются отдельно
+        context.getBean(ItemBookingReferences.class).fillMissing();
+    }
+
+    private static String word(int i) {
+        return WORDS[Math.floorMod(i, WORDS.length)];
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public User getBooker() {
+        return booker;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void close() {
+        context.close();
+    }
+}
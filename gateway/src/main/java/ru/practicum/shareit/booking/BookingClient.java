@@ -3,26 +3,32 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough
         );
     }
 
@@ -34,15 +40,36 @@ public class BookingClient extends BaseClient {
         return patch("/" + id + "?approved={approved}", userId, Map.of("approved", approved), null);
     }
 
+    public ResponseEntity<Object> approveAll(long userId, BookingApproveAllDto bookings, boolean approved) {
+        return patch("?approved={approved}", userId, Map.of("approved", approved), bookings);
+    }
+
     public ResponseEntity<Object> get(long userId, long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> getAllByUserIdWithState(long userId, BookingStateParameter state) {
-        return get("?state={state}", userId, Map.of("state", state));
+    public ResponseEntity<Object> getAllByUserIdWithState(long userId, BookingStateParameter state, int from, int size,
+                                                          LocalDateTime cursorStart, Long cursorId) {
+        return getPage("", userId, state, from, size, cursorStart, cursorId);
+    }
+
+    public ResponseEntity<Object> getAllForUserItemsWithState(long userId, BookingStateParameter state, int from, int size,
+                                                              LocalDateTime cursorStart, Long cursorId) {
+        return getPage("/owner", userId, state, from, size, cursorStart, cursorId);
     }
 
-    public ResponseEntity<Object> getAllForUserItemsWithState(long userId, BookingStateParameter state) {
-        return get("/owner", userId, Map.of("state", state));
+    private ResponseEntity<Object> getPage(String path, long userId, BookingStateParameter state, int from, int size,
+                                           LocalDateTime cursorStart, Long cursorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursorStart == null || cursorId == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursorStart", cursorStart);
+        parameters.put("cursorId", cursorId);
+        return get(path + "?state={state}&from={from}&size={size}&cursorStart={cursorStart}&cursorId={cursorId}",
+                userId, parameters);
     }
 }
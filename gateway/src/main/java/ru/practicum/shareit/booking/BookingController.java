@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +18,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 
+import java.time.LocalDateTime;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -48,6 +56,16 @@ public class BookingController {
         return result;
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> approveAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                             @RequestBody @Valid BookingApproveAllDto bookings,
+                                             @RequestParam boolean approved) {
+        log.info("ApproveBookings: {} for userId {} started", bookings.getBookingIds(), userId);
+        ResponseEntity<Object> result = bookingClient.approveAll(userId, bookings, approved);
+        log.info("ApproveBookings for user with id {} finished", userId);
+        return result;
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> get(@RequestHeader(USER_ID_HEADER) long userId,
                                       @PathVariable long bookingId) {
@@ -60,20 +78,32 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getAllByUserIdWithState(@RequestHeader(USER_ID_HEADER) long userId,
-                                                          @RequestParam(value = "state", defaultValue = "ALL") String state) {
+                                                          @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                          @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                          @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                          @RequestParam(value = "cursorStart", required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                          @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("GetAllBookings started");
         BookingStateParameter stateParameter = BookingStateParameter.from(state);
-        ResponseEntity<Object> result = bookingClient.getAllByUserIdWithState(userId, stateParameter);
+        ResponseEntity<Object> result = bookingClient.getAllByUserIdWithState(userId, stateParameter, from, size,
+                cursorStart, cursorId);
         log.info("GetAllBookings for user with id {} finished", userId);
         return result;
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllForUserItemsWithState(@RequestHeader(USER_ID_HEADER) long userId,
-                                                              @RequestParam(value = "state", defaultValue = "ALL") String state) {
+                                                              @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                              @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                              @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                              @RequestParam(value = "cursorStart", required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                              @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("GetAllForUserItemsWithState started");
         BookingStateParameter stateParameter = BookingStateParameter.from(state);
-        ResponseEntity<Object> result = bookingClient.getAllForUserItemsWithState(userId, stateParameter);
+        ResponseEntity<Object> result = bookingClient.getAllForUserItemsWithState(userId, stateParameter, from, size,
+                cursorStart, cursorId);
         log.info("GetAllForUserItemsWithState with userId {} finished", userId);
         return result;
     }
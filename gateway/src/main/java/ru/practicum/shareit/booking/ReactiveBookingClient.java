@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, WebClient.Builder builder, ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, BookingCreateDto bookingDto) {
+        return post("", userId, bookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> approve(long userId, long id, boolean approved) {
+        return patch("/" + id + "?approved={approved}", userId, Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Object>> approveAll(long userId, BookingApproveAllDto bookings, boolean approved) {
+        return patch("?approved={approved}", userId, Map.of("approved", approved), bookings);
+    }
+
+    public Mono<ResponseEntity<Object>> get(long userId, long id) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByUserIdWithState(long userId, BookingStateParameter state, int from, int size,
+                                                                LocalDateTime cursorStart, Long cursorId) {
+        return getPage("", userId, state, from, size, cursorStart, cursorId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllForUserItemsWithState(long userId, BookingStateParameter state, int from, int size,
+                                                                    LocalDateTime cursorStart, Long cursorId) {
+        return getPage("/owner", userId, state, from, size, cursorStart, cursorId);
+    }
+
+    private Mono<ResponseEntity<Object>> getPage(String path, long userId, BookingStateParameter state, int from, int size,
+                                                 LocalDateTime cursorStart, Long cursorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursorStart == null || cursorId == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursorStart", cursorStart);
+        parameters.put("cursorId", cursorId);
+        return get(path + "?state={state}&from={from}&size={size}&cursorStart={cursorStart}&cursorId={cursorId}",
+                userId, parameters);
+    }
+}
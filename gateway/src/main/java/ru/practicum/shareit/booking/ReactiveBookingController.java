@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) long userId,
+                                               @RequestBody @Valid BookingCreateDto bookingDto) {
+        log.info("CreateBooking: {} started", bookingDto);
+        return bookingClient.create(userId, bookingDto)
+                .doOnSuccess(result -> log.info("CreateBooking for user with id {} finished", userId));
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approve(@RequestHeader(USER_ID_HEADER) long userId,
+                                                @PathVariable long bookingId,
+                                                @RequestParam boolean approved) {
+        log.info("ApproveBooking: {} for userId {} started", bookingId, userId);
+        return bookingClient.approve(userId, bookingId, approved)
+                .doOnSuccess(result -> log.info("ApproveBooking with id {} for user with id {} finished", bookingId, userId));
+    }
+
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> approveAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                                   @RequestBody @Valid BookingApproveAllDto bookings,
+                                                   @RequestParam boolean approved) {
+        log.info("ApproveBookings: {} for userId {} started", bookings.getBookingIds(), userId);
+        return bookingClient.approveAll(userId, bookings, approved)
+                .doOnSuccess(result -> log.info("ApproveBookings for user with id {} finished", userId));
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> get(@RequestHeader(USER_ID_HEADER) long userId,
+                                            @PathVariable long bookingId) {
+        log.info("GetBooking: {} started", bookingId);
+        return bookingClient.get(userId, bookingId)
+                .doOnSuccess(result -> log.info("GetBooking with id {} for user with id {} finished", bookingId, userId));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllByUserIdWithState(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                                @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                                @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                                @RequestParam(value = "cursorStart", required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                                @RequestParam(value = "cursorId", required = false) Long cursorId) {
+        log.info("GetAllBookings started");
+        BookingStateParameter stateParameter = BookingStateParameter.from(state);
+        return bookingClient.getAllByUserIdWithState(userId, stateParameter, from, size, cursorStart, cursorId)
+                .doOnSuccess(result -> log.info("GetAllBookings for user with id {} finished", userId));
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllForUserItemsWithState(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                    @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                                    @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                                    @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                                    @RequestParam(value = "cursorStart", required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                                    @RequestParam(value = "cursorId", required = false) Long cursorId) {
+        log.info("GetAllForUserItemsWithState started");
+        BookingStateParameter stateParameter = BookingStateParameter.from(state);
+        return bookingClient.getAllForUserItemsWithState(userId, stateParameter, from, size, cursorStart, cursorId)
+                .doOnSuccess(result -> log.info("GetAllForUserItemsWithState with userId {} finished", userId));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingApproveAllDto {
+
+    @NotEmpty(message = "Необходимо указать id бронирований")
+    @Size(max = 100, message = "За один запрос можно подтвердить не больше 100 бронирований")
+    private List<@NotNull(message = "id бронирования не может быть пустым") Long> bookingIds;
+}
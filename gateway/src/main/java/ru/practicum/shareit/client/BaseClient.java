@@ -11,12 +11,38 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    /**
+     * Заголовки, относящиеся к конкретному соединению с сервером, а не к самому ответу.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase()
+    );
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    /**
+     * @param passthrough если true, тело ответа сервера не разбирается, а возвращается как есть
+     *                    (сырые байты вместе с исходными заголовками)
+     */
+    public BaseClient(RestTemplate rest, boolean passthrough) {
         this.rest = rest;
+        this.passthrough = passthrough;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -81,6 +107,9 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (passthrough) {
+            return sendPassthroughRequest(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,6 +124,36 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> sendPassthroughRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passthroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(passthroughHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    static HttpHeaders passthroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
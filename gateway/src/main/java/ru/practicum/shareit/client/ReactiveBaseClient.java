@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог {@link BaseClient} на WebClient для профиля reactive.
+ * Ответы сервера с любым статусом возвращаются вызывающему так же, как в {@link BaseClient}.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+    private final boolean passthrough;
+
+    public ReactiveBaseClient(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> addDefaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(this::prepareGatewayResponse);
+    }
+
+    private void addDefaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        if (passthrough || !response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(byte[].class)
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(BaseClient.passthroughHeaders(entity.getHeaders()))
+                            .<Object>body(entity.getBody()));
+        }
+        return response.toEntity(Object.class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCode()).body(entity.getBody()));
+    }
+}
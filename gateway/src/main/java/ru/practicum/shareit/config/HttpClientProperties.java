@@ -0,0 +1,46 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула HTTP-соединений gateway с сервером.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxTotal = 1000;
+
+    /**
+     * Максимальное число соединений к одному хосту. Все клиенты ходят на один сервер,
+     * поэтому по умолчанию совпадает с maxTotal.
+     */
+    private int maxPerRoute = 1000;
+
+    /**
+     * Сколько держать простаивающее соединение открытым, если сервер не прислал Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Через сколько простоя соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Сколько ждать свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+}
@@ -42,7 +42,8 @@ public class ErrorHandler {
     }
 
     @ExceptionHandler(value = {ItemNotAvailableException.class, MethodArgumentNotValidException.class,
-            ConstraintViolationException.class, CommentForNotStartedBookingException.class})
+            ConstraintViolationException.class, CommentForNotStartedBookingException.class,
+            InvalidTimeWindowException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBadRequestException(final Exception e) {
         log.warn("ERROR  ", e);
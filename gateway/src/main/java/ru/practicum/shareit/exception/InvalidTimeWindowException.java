@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidTimeWindowException extends RuntimeException {
+    public InvalidTimeWindowException(String message) {
+        super(message);
+    }
+}
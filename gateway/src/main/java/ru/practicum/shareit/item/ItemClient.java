@@ -3,8 +3,9 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
@@ -12,20 +13,24 @@ import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough
         );
     }
 
@@ -37,17 +42,40 @@ public class ItemClient extends BaseClient {
         return patch("/" + itemId, userId, item);
     }
 
-    public ResponseEntity<Object> get(long itemId) {
-        return get("/" + itemId, itemId);
+    public ResponseEntity<Object> get(long userId, long itemId) {
+        return get("/" + itemId, userId);
     }
 
     public ResponseEntity<Object> getItemsOfOwner(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> search(String text, long userId) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> search(String text, boolean fuzzy, double similarity, LocalDateTime start,
+                                         LocalDateTime end, int from, int size, long userId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("text", text, "fuzzy", fuzzy, "similarity", similarity,
+                "from", from, "size", size));
+        String path = "/search?text={text}&fuzzy={fuzzy}&similarity={similarity}&from={from}&size={size}";
+        if (start != null && end != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            path += "&start={start}&end={end}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public ResponseEntity<Object> autocomplete(String prefix, int size, long userId) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/autocomplete?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(long itemId, int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long itemId, LocalDateTime from, LocalDateTime to, long userId) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
     public ResponseEntity<Object> createComment(long itemId, long userId, CommentCreateDto comment) {
@@ -1,8 +1,15 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,8 +24,13 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.validator.TimeWindow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -27,6 +39,10 @@ public class ItemController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private static final Duration MAX_TIME_WINDOW = Duration.ofDays(366);
+
     private final ItemClient itemClient;
 
     @PostMapping
@@ -48,7 +64,7 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> get(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable(name = "itemId") long itemId) {
         log.info("Getting item with id {} for user with id {}", itemId, userId);
-        ResponseEntity<Object> result = itemClient.get(itemId);
+        ResponseEntity<Object> result = itemClient.get(userId, itemId);
         log.info("Getting item with id {} for user with id {} finished", itemId, userId);
         return result;
     }
@@ -64,13 +80,58 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader(USER_ID_HEADER) long userId,
-                                         @RequestParam(name = "text") String text) {
+                                         @RequestParam(name = "text") String text,
+                                         @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                         @DecimalMin(value = "0", inclusive = false) @DecimalMax("1")
+                                         @RequestParam(name = "similarity", defaultValue = "0.3") double similarity,
+                                         @RequestParam(name = "start", required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                         @RequestParam(name = "end", required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                         @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        TimeWindow.validateOptional(start, end, MAX_TIME_WINDOW);
         log.info("Searching items with text {} in name or description", text);
-        ResponseEntity<Object> result = itemClient.search(text, userId);
+        ResponseEntity<Object> result = itemClient.search(text, fuzzy, similarity, start, end, from, size, userId);
         log.info("Searching items with text {} finished", text);
         return result;
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Object> autocomplete(@RequestHeader(USER_ID_HEADER) long userId,
+                                               @RequestParam(name = "prefix") String prefix,
+                                               @Positive @Max(MAX_SUGGESTIONS) @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Suggesting item names for prefix {}", prefix);
+        ResponseEntity<Object> result = itemClient.autocomplete(prefix, size, userId);
+        log.info("Suggesting item names for prefix {} finished", prefix);
+        return result;
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader(USER_ID_HEADER) long userId,
+                                              @PathVariable(name = "itemId") long itemId,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Getting comments of item with id {}, from: {}, size: {}", itemId, from, size);
+        ResponseEntity<Object> result = itemClient.getComments(itemId, from, size, userId);
+        log.info("Getting comments of item with id {} finished", itemId);
+        return result;
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                                  @PathVariable(name = "itemId") long itemId,
+                                                  @RequestParam(name = "from")
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam(name = "to")
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TimeWindow.validate(from, to, MAX_TIME_WINDOW);
+        log.info("Getting availability of item with id {} from {} to {}", itemId, from, to);
+        ResponseEntity<Object> result = itemClient.getAvailability(itemId, from, to, userId);
+        log.info("Getting availability of item with id {} finished", itemId);
+        return result;
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@RequestHeader(USER_ID_HEADER) long userId,
                                              @PathVariable(name = "itemId") long itemId,
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.comment.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, WebClient.Builder builder, ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, ItemCreateDto item) {
+        return post("", userId, item);
+    }
+
+    public Mono<ResponseEntity<Object>> update(long userId, ItemUpdateDto item, long itemId) {
+        return patch("/" + itemId, userId, item);
+    }
+
+    public Mono<ResponseEntity<Object>> get(long userId, long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsOfOwner(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> search(String text, boolean fuzzy, double similarity, LocalDateTime start,
+                                               LocalDateTime end, int from, int size, long userId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("text", text, "fuzzy", fuzzy, "similarity", similarity,
+                "from", from, "size", size));
+        String path = "/search?text={text}&fuzzy={fuzzy}&similarity={similarity}&from={from}&size={size}";
+        if (start != null && end != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            path += "&start={start}&end={end}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> autocomplete(String prefix, int size, long userId) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/autocomplete?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getComments(long itemId, int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(long itemId, LocalDateTime from, LocalDateTime to, long userId) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(long itemId, long userId, CommentCreateDto comment) {
+        return post("/" + itemId + "/comment", userId, comment);
+    }
+}
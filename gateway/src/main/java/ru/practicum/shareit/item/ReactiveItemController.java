@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.comment.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.validator.TimeWindow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private static final Duration MAX_TIME_WINDOW = Duration.ofDays(366);
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) long userId, @Valid @RequestBody ItemCreateDto item) {
+        log.info("Starting creating item {} for user with id {}", item, userId);
+        return itemClient.create(userId, item)
+                .doOnSuccess(itemSaved -> log.info("Item for user with id {} created", userId));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getItemsOfOwner(@RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Getting items of user with id {}", userId);
+        return itemClient.getItemsOfOwner(userId)
+                .doOnSuccess(result -> log.info("Getting items of user with id {} finished", userId));
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> get(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable(name = "itemId") long itemId) {
+        log.info("Getting item with id {} for user with id {}", itemId, userId);
+        return itemClient.get(userId, itemId)
+                .doOnSuccess(result -> log.info("Getting item with id {} for user with id {} finished", itemId, userId));
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(name = USER_ID_HEADER) long userId,
+                                               @PathVariable(name = "itemId") long itemId, @Valid @RequestBody ItemUpdateDto item) {
+        log.info("Starting updating with id {} for user with id {}", itemId, userId);
+        return itemClient.update(userId, item, itemId)
+                .doOnSuccess(result -> log.info("Item for user with id {} updated", userId));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(USER_ID_HEADER) long userId,
+                                               @RequestParam(name = "text") String text,
+                                               @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                               @DecimalMin(value = "0", inclusive = false) @DecimalMax("1")
+                                               @RequestParam(name = "similarity", defaultValue = "0.3") double similarity,
+                                               @RequestParam(name = "start", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                               @RequestParam(name = "end", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        TimeWindow.validateOptional(start, end, MAX_TIME_WINDOW);
+        log.info("Searching items with text {} in name or description", text);
+        return itemClient.search(text, fuzzy, similarity, start, end, from, size, userId)
+                .doOnSuccess(result -> log.info("Searching items with text {} finished", text));
+    }
+
+    @GetMapping("/autocomplete")
+    public Mono<ResponseEntity<Object>> autocomplete(@RequestHeader(USER_ID_HEADER) long userId,
+                                                     @RequestParam(name = "prefix") String prefix,
+                                                     @Positive @Max(MAX_SUGGESTIONS) @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Suggesting item names for prefix {}", prefix);
+        return itemClient.autocomplete(prefix, size, userId)
+                .doOnSuccess(result -> log.info("Suggesting item names for prefix {} finished", prefix));
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@RequestHeader(USER_ID_HEADER) long userId,
+                                                    @PathVariable(name = "itemId") long itemId,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Getting comments of item with id {}, from: {}, size: {}", itemId, from, size);
+        return itemClient.getComments(itemId, from, size, userId)
+                .doOnSuccess(result -> log.info("Getting comments of item with id {} finished", itemId));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                                        @PathVariable(name = "itemId") long itemId,
+                                                        @RequestParam(name = "from")
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam(name = "to")
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TimeWindow.validate(from, to, MAX_TIME_WINDOW);
+        log.info("Getting availability of item with id {} from {} to {}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to, userId)
+                .doOnSuccess(result -> log.info("Getting availability of item with id {} finished", itemId));
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(USER_ID_HEADER) long userId,
+                                                   @PathVariable(name = "itemId") long itemId,
+                                                   @Valid @RequestBody CommentCreateDto comment) {
+        log.info("Adding comment {} to item with id {} for user with id {}", comment, itemId, userId);
+        return itemClient.createComment(itemId, userId, comment)
+                .doOnSuccess(result -> log.info("Comment {} added to item with id {}", comment, itemId));
+    }
+}
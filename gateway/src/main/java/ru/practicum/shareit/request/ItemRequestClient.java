@@ -3,25 +3,32 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
+@Profile("!reactive")
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough
         );
     }
 
@@ -33,8 +40,21 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests() {
-        return get("/all");
+    public ResponseEntity<Object> getAllItemRequests(int from, int size, LocalDateTime cursorCreated, Long cursorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursorCreated == null || cursorId == null) {
+            return get("/all?from={from}&size={size}", null, parameters);
+        }
+        parameters.put("cursorCreated", cursorCreated);
+        parameters.put("cursorId", cursorId);
+        return get("/all?from={from}&size={size}&cursorCreated={cursorCreated}&cursorId={cursorId}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItemRequests(String text, double similarity, int from, int size) {
+        Map<String, Object> parameters = Map.of("text", text, "similarity", similarity, "from", from, "size", size);
+        return get("/search?text={text}&similarity={similarity}&from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> getItemRequest(long requestId) {
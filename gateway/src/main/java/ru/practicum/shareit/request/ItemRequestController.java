@@ -1,8 +1,14 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +17,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.time.LocalDateTime;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/requests")
 @Validated
 @RequiredArgsConstructor
@@ -42,13 +52,29 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests() {
+    public ResponseEntity<Object> getAllItemRequests(@PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                     @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                     @RequestParam(value = "cursorCreated", required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+                                                     @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("Getting all item requests started");
-        ResponseEntity<Object> result = itemRequestClient.getAllItemRequests();
+        ResponseEntity<Object> result = itemRequestClient.getAllItemRequests(from, size, cursorCreated, cursorId);
         log.info("Getting all item requests finished");
         return result;
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchItemRequests(@RequestParam(value = "text") String text,
+                                                     @DecimalMin(value = "0", inclusive = false) @DecimalMax("1")
+                                                     @RequestParam(value = "similarity", defaultValue = "0.3") double similarity,
+                                                     @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                     @Positive @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Searching item requests with text {} started", text);
+        ResponseEntity<Object> result = itemRequestClient.searchItemRequests(text, similarity, from, size);
+        log.info("Searching item requests with text {} finished", text);
+        return result;
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequest(@PathVariable long requestId) {
         log.info("Getting item request {} started", requestId);
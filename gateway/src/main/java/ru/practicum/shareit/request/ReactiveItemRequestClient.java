@@ -0,0 +1,63 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, WebClient.Builder builder, ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createItemRequest(ItemRequestCreateDto itemRequest, long userId) {
+        return post("", userId, itemRequest);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUserItemRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllItemRequests(int from, int size, LocalDateTime cursorCreated, Long cursorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursorCreated == null || cursorId == null) {
+            return get("/all?from={from}&size={size}", null, parameters);
+        }
+        parameters.put("cursorCreated", cursorCreated);
+        parameters.put("cursorId", cursorId);
+        return get("/all?from={from}&size={size}&cursorCreated={cursorCreated}&cursorId={cursorId}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItemRequests(String text, double similarity, int from, int size) {
+        Map<String, Object> parameters = Map.of("text", text, "similarity", similarity, "from", from, "size", size);
+        return get("/search?text={text}&similarity={similarity}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(long requestId) {
+        return get("/" + requestId);
+    }
+}
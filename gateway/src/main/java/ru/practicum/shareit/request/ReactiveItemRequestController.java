@@ -0,0 +1,81 @@
+package ru.practicum.shareit.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+
+import java.time.LocalDateTime;
+
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/requests")
+@Validated
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveItemRequestController {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(USER_ID_HEADER) long userId, @Valid @RequestBody ItemRequestCreateDto itemRequest) {
+        log.info("Creating item request {} started", itemRequest);
+        return itemRequestClient.createItemRequest(itemRequest, userId)
+                .doOnSuccess(result -> log.info("Creating item request {} finished", result));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUserItemRequests(@RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Getting all item requests for user {} started", userId);
+        return itemRequestClient.getAllUserItemRequests(userId)
+                .doOnSuccess(result -> log.info("Getting all item requests for user {} finished", userId));
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                           @Positive @RequestParam(value = "size", defaultValue = "10") int size,
+                                                           @RequestParam(value = "cursorCreated", required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+                                                           @RequestParam(value = "cursorId", required = false) Long cursorId) {
+        log.info("Getting all item requests started");
+        return itemRequestClient.getAllItemRequests(from, size, cursorCreated, cursorId)
+                .doOnSuccess(result -> log.info("Getting all item requests finished"));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItemRequests(@RequestParam(value = "text") String text,
+                                                           @DecimalMin(value = "0", inclusive = false) @DecimalMax("1")
+                                                           @RequestParam(value = "similarity", defaultValue = "0.3") double similarity,
+                                                           @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") int from,
+                                                           @Positive @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Searching item requests with text {} started", text);
+        return itemRequestClient.searchItemRequests(text, similarity, from, size)
+                .doOnSuccess(result -> log.info("Searching item requests with text {} finished", text));
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getItemRequest(@PathVariable long requestId) {
+        log.info("Getting item request {} started", requestId);
+        return itemRequestClient.getItemRequest(requestId)
+                .doOnSuccess(result -> log.info("Getting item request {} finished", result));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, @Value("${shareit-server.passthrough:true}") boolean passthrough, WebClient.Builder builder, ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> getById(long id) {
+        return get("/" + id);
+    }
+
+    public Mono<ResponseEntity<Object>> create(UserCreateDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> update(UserUpdateDto userDto, long id) {
+        return patch("/" + id, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> delete(long id) {
+        return delete("/" + id);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> getUsers() {
+        log.info("Started fetching all users");
+        return userClient.getAll()
+                .doOnSuccess(result -> log.info("Finished fetching all users"));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable(name = "id") long id) {
+        log.info("Started fetching user with id: {}", id);
+        return userClient.getById(id)
+                .doOnSuccess(result -> log.info("Finished fetching user with id: {}", id));
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Object>> createUser(@Valid @RequestBody UserCreateDto user) {
+        log.info("Started creating user: {}", user);
+        return userClient.create(user)
+                .doOnSuccess(result -> log.info("Finished creating user {}", user));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateUser(@Valid @RequestBody UserUpdateDto user, @PathVariable(name = "id") long id) {
+        log.info("Started updating user with id {}", id);
+        return userClient.update(user, id)
+                .doOnSuccess(result -> log.info("Finished updating user with id {}", id));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteUser(@PathVariable(name = "id") long id) {
+        log.info("Started deleting user with id: {}", id);
+        return userClient.delete(id)
+                .doOnSuccess(result -> log.info("Finished deleting user with id: {}", id))
+                .then();
+    }
+}
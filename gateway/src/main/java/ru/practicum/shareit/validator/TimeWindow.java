@@ -0,0 +1,37 @@
+package ru.practicum.shareit.validator;
+
+import ru.practicum.shareit.exception.InvalidTimeWindowException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Проверка периода, переданного параметрами запроса, а не телом: аннотации на DTO к нему не применить.
+ */
+public final class TimeWindow {
+
+    private TimeWindow() {
+    }
+
+    /**
+     * Необязательный период: его начало и конец либо заданы оба, либо не заданы.
+     */
+    public static void validateOptional(LocalDateTime from, LocalDateTime to, Duration maxLength) {
+        if (from == null && to == null) {
+            return;
+        }
+        if (from == null || to == null) {
+            throw new InvalidTimeWindowException("Начало и конец периода задаются вместе");
+        }
+        validate(from, to, maxLength);
+    }
+
+    public static void validate(LocalDateTime from, LocalDateTime to, Duration maxLength) {
+        if (!from.isBefore(to)) {
+            throw new InvalidTimeWindowException("Начало периода должно быть раньше конца");
+        }
+        if (Duration.between(from, to).compareTo(maxLength) > 0) {
+            throw new InvalidTimeWindowException("Период не может быть длиннее " + maxLength.toDays() + " дней");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class BaseClientTest {
+
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8);
+
+    private UserClient client;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        client = new UserClient("http://localhost:9090", true, new RestTemplateBuilder(),
+                new SimpleClientHttpRequestFactory());
+        server = MockRestServiceServer.bindTo(client.rest).build();
+    }
+
+    @Test
+    @DisplayName("В режиме passthrough статус, тело и заголовки ответа сервера должны передаваться как есть," +
+            " кроме заголовков соединения")
+    void passthroughForwardsResponse() {
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(serverHeaders())
+                        .body(BODY));
+
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertForwardedHeaders(response.getHeaders());
+    }
+
+    @Test
+    @DisplayName("В режиме passthrough ответ сервера с ошибкой должен передаваться так же, как успешный")
+    void passthroughForwardsErrorResponse() {
+        server.expect(requestTo("http://localhost:9090/users/2"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(serverHeaders())
+                        .body(BODY));
+
+        ResponseEntity<Object> response = client.getById(2);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertForwardedHeaders(response.getHeaders());
+    }
+
+    private static HttpHeaders serverHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"42\"");
+        headers.set("X-Request-Id", "abc");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.setContentLength(BODY.length);
+        return headers;
+    }
+
+    private static void assertForwardedHeaders(HttpHeaders headers) {
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals("\"42\"", headers.getETag());
+        assertEquals("abc", headers.getFirst("X-Request-Id"));
+        assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+        assertFalse(headers.containsKey("Keep-Alive"));
+        assertFalse(headers.containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(headers.containsKey(HttpHeaders.CONTENT_LENGTH));
+    }
+}
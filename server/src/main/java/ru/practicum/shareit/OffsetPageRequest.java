@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.InvalidPageException;
+
+import java.util.Objects;
+
+/**
+ * Страница с произвольным смещением {@code from}: {@code PageRequest} считает смещение как номер страницы,
+ * умноженный на её размер, и при {@code from}, не кратном {@code size}, отдаёт не те строки.
+ */
+public final class OffsetPageRequest implements Pageable {
+
+    private final long offset;
+
+    private final int size;
+
+    private OffsetPageRequest(long offset, int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * @throws InvalidPageException если {@code from} отрицательный или {@code size} не положительный
+     */
+    public static OffsetPageRequest of(int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new InvalidPageException(String.format("Invalid page: from %d, size %d", from, size));
+        }
+        return new OffsetPageRequest(from, size);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OffsetPageRequest other && offset == other.offset && size == other.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, size);
+    }
+}
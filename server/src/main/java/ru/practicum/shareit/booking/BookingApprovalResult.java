@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Итог подтверждения или отклонения одного бронирования из списка.
+ */
+public enum BookingApprovalResult {
+    APPROVED,
+    REJECTED,
+    NOT_FOUND,
+    FORBIDDEN,
+    OVERLAPS,
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +12,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -47,6 +52,16 @@ public class BookingController {
         return result;
     }
 
+    @PatchMapping
+    public List<BookingApprovalResultDto> approveAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                                     @RequestBody BookingApproveAllDto bookings,
+                                                     @RequestParam boolean approved) {
+        log.info("ApproveBookings: {} for userId {} started", bookings.getBookingIds(), userId);
+        List<BookingApprovalResultDto> result = bookingService.approveAll(userId, bookings.getBookingIds(), approved);
+        log.info("ApproveBookings for user with id {} finished", userId);
+        return result;
+    }
+
     @GetMapping("/{bookingId}")
     public BookingFullDto get(@RequestHeader(USER_ID_HEADER) long userId,
                               @PathVariable long bookingId) {
@@ -59,20 +74,32 @@ public class BookingController {
 
     @GetMapping
     public Collection<BookingFullDto> getAllByUserIdWithState(@RequestHeader(USER_ID_HEADER) long userId,
-                                                              @RequestParam(value = "state", defaultValue = "ALL") String state) {
+                                                              @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                              @RequestParam(value = "from", defaultValue = "0") int from,
+                                                              @RequestParam(value = "size", defaultValue = "10") int size,
+                                                              @RequestParam(value = "cursorStart", required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                              @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("GetAllBookings started");
         BookingStateParameter stateParameter = BookingStateParameter.from(state);
-        Collection<BookingFullDto> result = bookingService.getAllByUserIdWithState(userId, stateParameter);
+        Collection<BookingFullDto> result = bookingService.getAllByUserIdWithState(userId, stateParameter, from, size,
+                cursorStart, cursorId);
         log.info("GetAllBookings for user with id {} finished", userId);
         return result;
     }
 
     @GetMapping("/owner")
     public Collection<BookingFullDto> getAllForUserItemsWithState(@RequestHeader(USER_ID_HEADER) long userId,
-                                                                  @RequestParam(value = "state", defaultValue = "ALL") String state) {
+                                                                  @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                                  @RequestParam(value = "from", defaultValue = "0") int from,
+                                                                  @RequestParam(value = "size", defaultValue = "10") int size,
+                                                                  @RequestParam(value = "cursorStart", required = false)
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                                  @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("GetAllForUserItemsWithState started");
         BookingStateParameter stateParameter = BookingStateParameter.from(state);
-        Collection<BookingFullDto> result = bookingService.getAllForUserItemsWithState(userId, stateParameter);
+        Collection<BookingFullDto> result = bookingService.getAllForUserItemsWithState(userId, stateParameter, from, size,
+                cursorStart, cursorId);
         log.info("GetAllForUserItemsWithState with userId {} finished", userId);
         return result;
     }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {ItemMapper.class, UserMapper.class},
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface BookingMapper {
+
+    BookingFullDto toBookingFullDto(Booking booking);
+
+    List<BookingFullDto> toBookingFullDtos(Collection<Booking> bookings);
+
+    BookingShortDto toBookingShortDto(Booking booking);
+
+    /**
+     * Вещь, автор и статус бронирования проставляются сервисом.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "item", ignore = true)
+    @Mapping(target = "booker", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    Booking toBooking(BookingCreateDto bookingDto);
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.item.Item;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -11,26 +13,117 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Collection<Booking> findAllByBookerId(Long id);
 
-    Collection<Booking> findAllByItemId(Long id);
-
-    List<Booking> findAllByItemIdIn(List<Long> ids);
-
-    Collection<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime dateTime);
-
-    Collection<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime dateTime);
-
-    Collection<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime dateTime1, LocalDateTime dateTime2);
-
-    Collection<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, BookingStatus status);
-
-
-    Collection<Booking> findAllByBookerIdAndItemIn(Long userId, Collection<Item> items);
-
-    Collection<Booking> findAllByBookerIdAndItemInAndStartAfterOrderByStartDesc(Long userId, Collection<Item> items, LocalDateTime dateTime);
-
-    Collection<Booking> findAllByBookerIdAndItemInAndEndBeforeOrderByStartDesc(Long userId, Collection<Item> items, LocalDateTime dateTime);
-
-    Collection<Booking> findAllByBookerIdAndItemInAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, Collection<Item> items, LocalDateTime dateTime1, LocalDateTime dateTime2);
-
-    Collection<Booking> findAllByBookerIdAndItemInAndStatusOrderByStartDesc(Long userId, Collection<Item> items, BookingStatus status);
+    List<Booking> findAllByBookerIdOrderByStartDescIdDesc(Long userId, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long userId, LocalDateTime dateTime1, LocalDateTime dateTime2, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStatusOrderByStartDescIdDesc(Long userId, BookingStatus status, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :userId" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdBeforeCursor(Long userId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.start > :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndStartAfterBeforeCursor(Long userId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.end < :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndEndBeforeBeforeCursor(Long userId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.start < :dateTime and b.end > :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndCurrentBeforeCursor(Long userId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.status = :status" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByBookerIdAndStatusBeforeCursor(Long userId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    // столбцы из условий равенства в сортировке нужны H2, чтобы он читал индекс по порядку, а не сортировал все строки
+    @Query("select b from Booking b where b.item.id = :itemId and b.status = :status and b.start < :dateTime" +
+            " order by b.item.id, b.status, b.start desc, b.id desc")
+    List<Booking> findLatestByItemIdAndStatusStartedBefore(Long itemId, BookingStatus status, LocalDateTime dateTime,
+                                                           Pageable pageable);
+
+    /**
+     * Бронирования вещи, пересекающиеся с окном; ищутся по индексу {@code (item_id, end_date)}, поэтому для окна
+     * в будущем прошедшие бронирования не читаются.
+     */
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in :statuses" +
+            " and b.end > :from and b.start < :to" +
+            " order by b.start")
+    List<Booking> findAllByItemIdAndStatusInOverlapping(Long itemId, Collection<BookingStatus> statuses,
+                                                        LocalDateTime from, LocalDateTime to);
+
+    /**
+     * @return id вещей, у которых есть бронирования пользователя {@code bookerId} в статусе {@code status}
+     */
+    @Query("select distinct b.item.id from Booking b where b.booker.id = :bookerId and b.status = :status")
+    List<Long> findItemIdsByBookerIdAndStatus(long bookerId, BookingStatus status);
+
+    @Query("select b from Booking b join fetch b.item where b.id in :ids")
+    List<Booking> findAllWithItemByIdIn(Collection<Long> ids);
+
+    /**
+     * @return id тех из бронирований {@code ids}, которые пересекаются с другим бронированием своей вещи в статусе
+     * {@code status}; проверка всех бронирований одним запросом
+     */
+    @Query("select b.id from Booking b where b.id in :ids and exists (select other from Booking other" +
+            " where other.item = b.item and other.status = :status and other.id <> b.id" +
+            " and other.start < b.end and other.end > b.start)")
+    List<Long> findIdsOverlappingStatus(Collection<Long> ids, BookingStatus status);
+
+    /**
+     * Меняет статус бронирований вещей владельца {@code ownerId} одним запросом, минуя контекст персистентности,
+     * поэтому контекст очищается.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status where b.id in :ids" +
+            " and b.item.id in (select item.id from Item item where item.user.id = :ownerId)")
+    int updateStatusOfOwnerBookings(Collection<Long> ids, long ownerId, BookingStatus status);
+
+    List<Booking> findAllByItemUserIdOrderByStartDescIdDesc(Long ownerId, Pageable pageable);
+
+    List<Booking> findAllByItemUserIdAndStartAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime dateTime, Pageable pageable);
+
+    List<Booking> findAllByItemUserIdAndEndBeforeOrderByStartDescIdDesc(Long ownerId, LocalDateTime dateTime, Pageable pageable);
+
+    List<Booking> findAllByItemUserIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime dateTime1, LocalDateTime dateTime2, Pageable pageable);
+
+    List<Booking> findAllByItemUserIdAndStatusOrderByStartDescIdDesc(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.user.id = :ownerId" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByItemUserIdBeforeCursor(Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.user.id = :ownerId and b.start > :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByItemUserIdAndStartAfterBeforeCursor(Long ownerId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.user.id = :ownerId and b.end < :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByItemUserIdAndEndBeforeBeforeCursor(Long ownerId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.user.id = :ownerId" +
+            " and b.start < :dateTime and b.end > :dateTime" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByItemUserIdAndCurrentBeforeCursor(Long ownerId, LocalDateTime dateTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.user.id = :ownerId and b.status = :status" +
+            " and (b.start, b.id) < (:cursorStart, :cursorId)" +
+            " order by b.start desc, b.id desc")
+    List<Booking> findAllByItemUserIdAndStatusBeforeCursor(Long ownerId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 }
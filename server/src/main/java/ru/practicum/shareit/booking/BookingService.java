@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
@@ -11,9 +14,27 @@ public interface BookingService {
 
     BookingFullDto approve(long userId, long id, boolean approved);
 
-    BookingFullDto get(long userId, long id);
+    /**
+     * Подтверждает или отклоняет бронирования вещей пользователя в одной транзакции. Бронирование, которое не найдено,
+     * относится к чужой вещи или пересекается с подтверждённым, пропускается, остальные меняются одним запросом.
+     *
+     * @return итог для каждого id в порядке запроса, повторы id отбрасываются
+     */
+    List<BookingApprovalResultDto> approveAll(long userId, Collection<Long> ids, boolean approved);
 
-    Collection<BookingFullDto> getAllByUserIdWithState(long userId, BookingStateParameter state);
+    BookingFullDto get(long userId, long id);
 
-    Collection<BookingFullDto> getAllForUserItemsWithState(long userId, BookingStateParameter state);
+    /**
+     * Возвращает страницу бронирований пользователя, отсортированных по дате начала (от новых к старым).
+     * Если передан курсор ({@code cursorStart} и {@code cursorId} последнего бронирования предыдущей страницы),
+     * выборка продолжается строго после него, а {@code from} отсчитывается от курсора.
+     */
+    Collection<BookingFullDto> getAllByUserIdWithState(long userId, BookingStateParameter state, int from, int size,
+                                                       LocalDateTime cursorStart, Long cursorId);
+
+    /**
+     * То же, что {@link #getAllByUserIdWithState}, но для бронирований вещей пользователя.
+     */
+    Collection<BookingFullDto> getAllForUserItemsWithState(long userId, BookingStateParameter state, int from, int size,
+                                                           LocalDateTime cursorStart, Long cursorId);
 }
@@ -2,25 +2,41 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.OffsetPageRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.InvalidBookingIdsException;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.PermissionDeniedException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -34,7 +50,13 @@ public class BookingServiceImpl implements BookingService {
 
     private final UserRepository userRepository;
 
-    private final ModelMapper mapper;
+    private final BookingMapper mapper;
+
+    private final ItemDetailsCache itemDetailsCache;
+
+    private final ItemBookingReferences itemBookingReferences;
+
+    private final ItemBookingIntervals itemBookingIntervals;
 
     @Override
     public BookingFullDto create(long userId, BookingCreateDto bookingDto) {
@@ -42,18 +64,24 @@ public class BookingServiceImpl implements BookingService {
         Long itemId = bookingDto.getItemId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found"));
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item with id " + itemId + " not found"));
         if (!item.getAvailable()) {
             throw new ItemNotAvailableException("Item with id " + itemId + " is not available");
         }
-        Booking booking = mapper.map(bookingDto, Booking.class);
+        // свободное по памяти время свободно и в базе, а занятое по памяти может быть уже отклонено
+        if (itemBookingIntervals.overlapsApproved(itemId, bookingDto.getStart(), bookingDto.getEnd())
+                && itemBookingIntervals.overlapsApprovedInDatabase(itemId, bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new BookingOverlapException("Item with id " + itemId + " is already booked for this time");
+        }
+        Booking booking = mapper.toBooking(bookingDto);
+        booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
         booking.setBooker(user);
         Booking savedBooking = bookingRepository.save(booking);
         log.info("Booking with id {} created for userId {} and itemId {}",
                 savedBooking.getId(), userId, savedBooking.getItem().getId());
-        return mapper.map(savedBooking, BookingFullDto.class);
+        return mapper.toBookingFullDto(savedBooking);
     }
 
     @Override
@@ -68,15 +96,111 @@ public class BookingServiceImpl implements BookingService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
+        // вещь блокируется и при отклонении: ссылки на бронирования вещи меняются под той же блокировкой
+        itemRepository.findByIdForUpdate(booking.getItem().getId());
+        if (approved && booking.getStatus() != BookingStatus.APPROVED && itemBookingIntervals
+                .overlapsApprovedInDatabase(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingOverlapException("Booking with id " + id + " overlaps an approved booking");
+        }
         if (approved) {
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
         Booking savedBooking = bookingRepository.save(booking);
+        itemBookingReferences.onStatusChanged(savedBooking);
+        itemBookingIntervals.onStatusChanged(savedBooking);
+        itemDetailsCache.evict(savedBooking.getItem().getId());
         log.info("Booking with id {} approved for userId {} and itemId {}",
                 savedBooking.getId(), userId, savedBooking.getItem().getId());
-        return mapper.map(savedBooking, BookingFullDto.class);
+        return mapper.toBookingFullDto(savedBooking);
+    }
+
+    /**
+     * Вещи владельца блокируются так же, как при подтверждении одного бронирования. Пересечения с уже
+     * подтверждёнными бронированиями проверяются одним запросом на все бронирования, а между бронированиями
+     * из списка — в памяти: из пересекающихся подтверждается то, что раньше в списке.
+     */
+    @Override
+    public List<BookingApprovalResultDto> approveAll(long userId, Collection<Long> ids, boolean approved) {
+        if (ids == null || ids.isEmpty() || ids.size() > BookingApproveAllDto.MAX_BOOKING_IDS
+                || ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBookingIdsException("From 1 to " + BookingApproveAllDto.MAX_BOOKING_IDS
+                    + " booking ids are required");
+        }
+        log.info("Booking approveAll starting for {} bookings, approved: {}, user {}", ids.size(), approved, userId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User with id " + userId + " not found");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        itemRepository.findAllByUserIdAndBookingIdInForUpdate(userId, requested);
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdIn(requested).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> overlapping = Set.of();
+        if (approved) {
+            List<Long> toApprove = bookings.values().stream()
+                    .filter(booking -> booking.getItem().getUser().getId().equals(userId)
+                            && booking.getStatus() != BookingStatus.APPROVED)
+                    .map(Booking::getId)
+                    .toList();
+            overlapping = toApprove.isEmpty() ? Set.of()
+                    : new HashSet<>(bookingRepository.findIdsOverlappingStatus(toApprove, BookingStatus.APPROVED));
+        }
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> approvedInRequest = new HashMap<>();
+        List<BookingApprovalResultDto> results = new ArrayList<>(requested.size());
+        List<Booking> changed = new ArrayList<>();
+        for (Long id : requested) {
+            Booking booking = bookings.get(id);
+            BookingApprovalResult result;
+            if (booking == null) {
+                result = BookingApprovalResult.NOT_FOUND;
+            } else if (!booking.getItem().getUser().getId().equals(userId)) {
+                result = BookingApprovalResult.FORBIDDEN;
+            } else if (!approved) {
+                result = BookingApprovalResult.REJECTED;
+            } else if (overlapping.contains(id) || !approveInRequest(approvedInRequest, booking)) {
+                result = BookingApprovalResult.OVERLAPS;
+            } else {
+                result = BookingApprovalResult.APPROVED;
+            }
+            if (result == BookingApprovalResult.APPROVED || result == BookingApprovalResult.REJECTED) {
+                changed.add(booking);
+            }
+            results.add(new BookingApprovalResultDto(id, result));
+        }
+        if (!changed.isEmpty()) {
+            BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            bookingRepository.updateStatusOfOwnerBookings(changed.stream().map(Booking::getId).toList(), userId,
+                    status);
+            Set<Long> itemIds = new HashSet<>();
+            for (Booking booking : changed) {
+                // после массового обновления контекст очищен, поэтому статус отсоединённой копии в базу не пишется
+                booking.setStatus(status);
+                itemBookingIntervals.onStatusChanged(booking);
+                itemIds.add(booking.getItem().getId());
+            }
+            itemBookingReferences.onStatusesChanged(itemIds);
+            itemIds.forEach(itemDetailsCache::evict);
+        }
+        log.info("Bookings approveAll finished for user {}: {} of {} changed", userId, changed.size(),
+                requested.size());
+        return results;
+    }
+
+    /**
+     * Подтверждённые в этом же запросе бронирования вещи не пересекаются, поэтому, как и в
+     * {@link ItemBookingIntervals}, достаточно сравнить окно с последним начавшимся раньше его конца.
+     */
+    private static boolean approveInRequest(Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> approvedInRequest,
+                                            Booking booking) {
+        NavigableMap<LocalDateTime, LocalDateTime> intervals = approvedInRequest
+                .computeIfAbsent(booking.getItem().getId(), itemId -> new TreeMap<>());
+        Map.Entry<LocalDateTime, LocalDateTime> previous = intervals.lowerEntry(booking.getEnd());
+        if (previous != null && previous.getValue().isAfter(booking.getStart())) {
+            return false;
+        }
+        intervals.put(booking.getStart(), booking.getEnd());
+        return true;
     }
 
     @Override
@@ -94,71 +218,95 @@ public class BookingServiceImpl implements BookingService {
         }
         log.info("Booking get with id {} approved for userId {} and itemId {} finished",
                 booking.getId(), userId, booking.getItem().getId());
-        return mapper.map(booking, BookingFullDto.class);
+        return mapper.toBookingFullDto(booking);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<BookingFullDto> getAllByUserIdWithState(long userId, BookingStateParameter state) {
-        log.info("Booking getAllByUserIdWithState starting for user: {} and state: {}", userId, state);
+    public Collection<BookingFullDto> getAllByUserIdWithState(long userId, BookingStateParameter state, int from, int size,
+                                                              LocalDateTime cursorStart, Long cursorId) {
+        log.info("Booking getAllByUserIdWithState starting for user: {} and state: {}, from: {}, size: {}, cursor: {}/{}",
+                userId, state, from, size, cursorStart, cursorId);
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
         LocalDateTime now = LocalDateTime.now();
-        Collection<Booking> result = Collections.emptyList();
-
-        if (state.name().equals("ALL")) {
-            result = bookingRepository.findAllByBookerId(userId);
-        } else if (state.name().equals("CURRENT")) {
-            result = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                    now, now);
-        } else if (state.name().equals("PAST")) {
-            result = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-        } else if (state.name().equals("FUTURE")) {
-            result = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-        } else if (state.name().equals("WAITING")) {
-            result = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-        } else if (state.name().equals("REJECTED")) {
-            result = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
+        Pageable page = OffsetPageRequest.of(from, size);
+        List<Booking> result;
+
+        if (cursorStart == null || cursorId == null) {
+            result = switch (state) {
+                case ALL -> bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(userId, page);
+                case CURRENT -> bookingRepository
+                        .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId, now, now, page);
+                case PAST -> bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, page);
+                case FUTURE -> bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(userId, now, page);
+                case WAITING -> bookingRepository
+                        .findAllByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.WAITING, page);
+                case REJECTED -> bookingRepository
+                        .findAllByBookerIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, page);
+            };
+        } else {
+            result = switch (state) {
+                case ALL -> bookingRepository.findAllByBookerIdBeforeCursor(userId, cursorStart, cursorId, page);
+                case CURRENT -> bookingRepository
+                        .findAllByBookerIdAndCurrentBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case PAST -> bookingRepository
+                        .findAllByBookerIdAndEndBeforeBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case FUTURE -> bookingRepository
+                        .findAllByBookerIdAndStartAfterBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case WAITING -> bookingRepository
+                        .findAllByBookerIdAndStatusBeforeCursor(userId, BookingStatus.WAITING, cursorStart, cursorId, page);
+                case REJECTED -> bookingRepository
+                        .findAllByBookerIdAndStatusBeforeCursor(userId, BookingStatus.REJECTED, cursorStart, cursorId, page);
+            };
         }
 
         log.info("Booking getAllByUserIdWithState finished for user: {} and state: {}", userId, state);
-        return mapper.map(result, new TypeToken<Collection<BookingFullDto>>() {
-        }.getType());
+        return mapper.toBookingFullDtos(result);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<BookingFullDto> getAllForUserItemsWithState(long userId, BookingStateParameter state) {
-        log.info("Booking getAllForUserItemsWithState starting for user: {} and state: {}", userId, state);
+    public Collection<BookingFullDto> getAllForUserItemsWithState(long userId, BookingStateParameter state, int from, int size,
+                                                                  LocalDateTime cursorStart, Long cursorId) {
+        log.info("Booking getAllForUserItemsWithState starting for user: {} and state: {}, from: {}, size: {}, cursor: {}/{}",
+                userId, state, from, size, cursorStart, cursorId);
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User with id " + userId + " not found");
         }
-        Collection<Item> userItems = itemRepository.findAllByUserId(userId);
-
         LocalDateTime now = LocalDateTime.now();
-        Collection<Booking> result = Collections.emptyList();
-
-        if (state.name().equals("ALL")) {
-            result = bookingRepository.findAllByBookerIdAndItemIn(userId, userItems);
-        } else if (state.name().equals("CURRENT")) {
-            result = bookingRepository
-                    .findAllByBookerIdAndItemInAndStartBeforeAndEndAfterOrderByStartDesc(userId, userItems, now, now);
-        } else if (state.name().equals("PAST")) {
-            result = bookingRepository
-                    .findAllByBookerIdAndItemInAndEndBeforeOrderByStartDesc(userId, userItems, now);
-        } else if (state.name().equals("FUTURE")) {
-            result = bookingRepository
-                    .findAllByBookerIdAndItemInAndStartAfterOrderByStartDesc(userId, userItems, now);
-        } else if (state.name().equals("WAITING")) {
-            result = bookingRepository
-                    .findAllByBookerIdAndItemInAndStatusOrderByStartDesc(userId, userItems, BookingStatus.WAITING);
-        } else if (state.name().equals("REJECTED")) {
-            result = bookingRepository
-                    .findAllByBookerIdAndItemInAndStatusOrderByStartDesc(userId, userItems, BookingStatus.REJECTED);
+        Pageable page = OffsetPageRequest.of(from, size);
+        List<Booking> result;
+
+        if (cursorStart == null || cursorId == null) {
+            result = switch (state) {
+                case ALL -> bookingRepository.findAllByItemUserIdOrderByStartDescIdDesc(userId, page);
+                case CURRENT -> bookingRepository
+                        .findAllByItemUserIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId, now, now, page);
+                case PAST -> bookingRepository.findAllByItemUserIdAndEndBeforeOrderByStartDescIdDesc(userId, now, page);
+                case FUTURE -> bookingRepository.findAllByItemUserIdAndStartAfterOrderByStartDescIdDesc(userId, now, page);
+                case WAITING -> bookingRepository
+                        .findAllByItemUserIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.WAITING, page);
+                case REJECTED -> bookingRepository
+                        .findAllByItemUserIdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, page);
+            };
+        } else {
+            result = switch (state) {
+                case ALL -> bookingRepository.findAllByItemUserIdBeforeCursor(userId, cursorStart, cursorId, page);
+                case CURRENT -> bookingRepository
+                        .findAllByItemUserIdAndCurrentBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case PAST -> bookingRepository
+                        .findAllByItemUserIdAndEndBeforeBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case FUTURE -> bookingRepository
+                        .findAllByItemUserIdAndStartAfterBeforeCursor(userId, now, cursorStart, cursorId, page);
+                case WAITING -> bookingRepository
+                        .findAllByItemUserIdAndStatusBeforeCursor(userId, BookingStatus.WAITING, cursorStart, cursorId, page);
+                case REJECTED -> bookingRepository
+                        .findAllByItemUserIdAndStatusBeforeCursor(userId, BookingStatus.REJECTED, cursorStart, cursorId, page);
+            };
         }
         log.info("Booking getAllForUserItemsWithState finished for user: {} and state: {}", userId, state);
-        return mapper.map(result, new TypeToken<Collection<BookingFullDto>>() {
-        }.getType());
+        return mapper.toBookingFullDtos(result);
     }
 }
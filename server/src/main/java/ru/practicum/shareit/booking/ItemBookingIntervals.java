@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Проверка пересечения бронирования с подтверждёнными бронированиями вещи.
+ *
+ * <p>Подтверждённые бронирования одной вещи не пересекаются, поэтому, упорядоченные по началу, они упорядочены
+ * и по концу: окно пересекается с каким-то из них, только если пересекается с последним начавшимся раньше конца окна.
+ * Такое бронирование находится за O(log n) и в памяти, и в базе по индексу {@code (item_id, start_date)}.
+ *
+ * <p>Для часто бронируемых вещей интервалы подтверждённых бронирований держатся в памяти, в сумме не больше
+ * {@value #MAX_INTERVALS}. В памяти может быть лишнее, но не может не хватать подтверждённого: подтверждение попадает
+ * в неё до коммита, пока вещь ещё заблокирована, и убирается при откате, а отклонение — только после коммита.
+ * Поэтому свободное по памяти время свободно и в базе, а занятое подтверждается проверкой по базе.
+ *
+ * <p>Это верно только для одного экземпляра сервера: подтверждения, сделанные другим экземпляром, в эту память
+ * не попадают, и свободное по ней окно может оказаться занятым. При нескольких экземплярах проверку по памяти
+ * нужно убрать или сделать общей.
+ *
+ * <p>Интервалы вещи меняются только внутри {@code cache.asMap().computeIfPresent}: Caffeine заново взвешивает
+ * запись после каждого вычисления, поэтому вес учитывает добавленные и убранные интервалы, а не только
+ * загруженные.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingIntervals {
+
+    private static final long MAX_INTERVALS = 1_000_000;
+
+    private static final String APPROVED_SQL = "SELECT booking_id, start_date, end_date FROM bookings" +
+            " WHERE item_id = ? AND status = 'APPROVED'";
+
+    private final Cache<Long, NavigableMap<LocalDateTime, Interval>> cache = Caffeine.newBuilder()
+            .maximumWeight(MAX_INTERVALS)
+            .weigher((Long itemId, NavigableMap<LocalDateTime, Interval> intervals) -> intervals.size() + 1)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    private final BookingRepository bookingRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Проверка по памяти для создания бронирования; интервалы вещи загружаются при первом обращении.
+     * Вызывающий держит блокировку вещи.
+     *
+     * @return {@code false}, если окно точно свободно; {@code true}, если оно может быть занято
+     */
+    public boolean overlapsApproved(long itemId, LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> previous = cache.get(itemId, this::load).lowerEntry(end);
+        return previous != null && previous.getValue().end().isAfter(start);
+    }
+
+    /**
+     * Проверка по базе. Вызывающий держит блокировку вещи ({@link ItemRepository#findByIdForUpdate}), поэтому
+     * создания и подтверждения бронирований одной вещи идут по очереди и видят результат друг друга, а бронирования
+     * разных вещей друг друга не ждут.
+     */
+    public boolean overlapsApprovedInDatabase(long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.findLatestByItemIdAndStatusStartedBefore(itemId, BookingStatus.APPROVED, end,
+                        PageRequest.of(0, 1)).stream()
+                .anyMatch(previous -> previous.getEnd().isAfter(start));
+    }
+
+    /**
+     * Переносит подтверждение бронирования в интервалы вещи перед коммитом, а отклонение — после коммита.
+     * Изменение ждёт загрузку интервалов этой вещи, если она идёт, поэтому не теряется.
+     */
+    public void onStatusChanged(Booking booking) {
+        long itemId = booking.getItem().getId();
+        Interval interval = new Interval(booking.getId(), booking.getEnd());
+        LocalDateTime start = booking.getStart();
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            AfterCommit.run(() -> remove(itemId, start, interval));
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                private boolean added;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    added = add(itemId, start, interval);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (added && status != STATUS_COMMITTED) {
+                        remove(itemId, start, interval);
+                    }
+                }
+            });
+        } else {
+            add(itemId, start, interval);
+        }
+    }
+
+    /**
+     * Вызывается, когда бронирования удаляются каскадом в базе.
+     */
+    public void evictAll() {
+        AfterCommit.run(cache::invalidateAll);
+    }
+
+    /**
+     * @return суммарный вес записей, то есть число интервалов и вещей в памяти
+     */
+    long weight() {
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    }
+
+    /**
+     * @return {@code true}, если интервала в памяти не было
+     */
+    private boolean add(long itemId, LocalDateTime start, Interval interval) {
+        boolean[] added = new boolean[1];
+        cache.asMap().computeIfPresent(itemId, (id, intervals) -> {
+            added[0] = !interval.equals(intervals.put(start, interval));
+            return intervals;
+        });
+        return added[0];
+    }
+
+    private void remove(long itemId, LocalDateTime start, Interval interval) {
+        cache.asMap().computeIfPresent(itemId, (id, intervals) -> {
+            intervals.remove(start, interval);
+            return intervals;
+        });
+    }
+
+    private NavigableMap<LocalDateTime, Interval> load(long itemId) {
+        NavigableMap<LocalDateTime, Interval> intervals = new ConcurrentSkipListMap<>();
+        jdbcTemplate.query(APPROVED_SQL, rs -> {
+            intervals.put(rs.getTimestamp("start_date").toLocalDateTime(),
+                    new Interval(rs.getLong("booking_id"), rs.getTimestamp("end_date").toLocalDateTime()));
+        }, itemId);
+        log.debug("Approved booking intervals of item {} loaded: {}", itemId, intervals.size());
+        return intervals;
+    }
+
+    private record Interval(long bookingId, LocalDateTime end) {
+    }
+}
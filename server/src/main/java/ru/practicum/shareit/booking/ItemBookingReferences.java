@@ -0,0 +1,228 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Последнее (уже начавшееся) и следующее подтверждённое бронирование вещи хранятся в самой вещи
+ * ({@code items.last_booking_id}, {@code items.next_booking_id}), чтобы чтение вещи не загружало историю бронирований.
+ *
+ * <p>Ссылки меняются при подтверждении и отклонении бронирования, а после начала следующего бронирования их сдвигает
+ * {@link #rollForward()}. Пока сдвиг не выполнен, {@link #resolve} находит ссылки таких вещей сам, одним запросом
+ * на все эти вещи сразу.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingReferences {
+
+    private static final String FILL_MISSING_SQL = "UPDATE items i SET" +
+            " last_booking_id = (SELECT b.booking_id FROM bookings b" +
+            " WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date <= ?" +
+            " ORDER BY b.start_date DESC, b.booking_id DESC LIMIT 1)," +
+            " next_booking_id = (SELECT b.booking_id FROM bookings b" +
+            " WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date > ?" +
+            " ORDER BY b.start_date, b.booking_id LIMIT 1)" +
+            " WHERE i.last_booking_id IS NULL AND i.next_booking_id IS NULL" +
+            " AND EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.item_id AND b.status = 'APPROVED')";
+
+    private static final String LAST_AND_NEXT_SQL = "SELECT i.item_id," +
+            " (SELECT b.booking_id FROM bookings b" +
+            " WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date <= :now" +
+            " ORDER BY b.start_date DESC, b.booking_id DESC LIMIT 1) AS last_booking_id," +
+            " (SELECT b.booking_id FROM bookings b" +
+            " WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date > :now" +
+            " ORDER BY b.start_date, b.booking_id LIMIT 1) AS next_booking_id" +
+            " FROM items i WHERE i.item_id IN (:itemIds)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @return последнее и следующее бронирование вещи на момент {@code now}
+     */
+    public LastAndNext resolve(Item item, LocalDateTime now) {
+        return resolve(List.of(item), now).get(item.getId());
+    }
+
+    /**
+     * @return последнее и следующее бронирование каждой вещи на момент {@code now} по id вещи
+     */
+    public Map<Long, LastAndNext> resolve(Collection<Item> items, LocalDateTime now) {
+        Map<Long, LastAndNext> result = new HashMap<>();
+        List<Long> outdated = new ArrayList<>();
+        for (Item item : items) {
+            Booking next = item.getNextBooking();
+            if (next == null || next.getStart().isAfter(now)) {
+                result.put(item.getId(), new LastAndNext(item.getLastBooking(), next));
+            } else {
+                outdated.add(item.getId());
+            }
+        }
+        if (!outdated.isEmpty()) {
+            result.putAll(find(outdated, now));
+        }
+        return result;
+    }
+
+    /**
+     * Вызывается в транзакции, изменившей статус бронирования. Вещь блокируется, чтобы параллельные подтверждения
+     * бронирований одной вещи не затирали ссылки друг друга; перед блокировкой вещь перечитывается, поэтому
+     * несохранённые изменения транзакции сначала записываются в базу.
+     */
+    public void onStatusChanged(Booking booking) {
+        Item item = booking.getItem();
+        entityManager.flush();
+        entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        LocalDateTime now = LocalDateTime.now();
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            if (booking.getStart().isAfter(now)) {
+                if (item.getNextBooking() == null || booking.getStart().isBefore(item.getNextBooking().getStart())) {
+                    item.setNextBooking(booking);
+                }
+            } else if (item.getLastBooking() == null || booking.getStart().isAfter(item.getLastBooking().getStart())) {
+                item.setLastBooking(booking);
+            }
+        } else if (isReferenced(item.getLastBooking(), booking) || isReferenced(item.getNextBooking(), booking)) {
+            set(item, find(List.of(item.getId()), now).get(item.getId()));
+        }
+    }
+
+    /**
+     * Вызывается в транзакции, изменившей статусы бронирований нескольких вещей одним запросом в обход контекста
+     * персистентности. Вещи заблокированы вызывающим; их ссылки пересчитываются заново одним запросом на все вещи.
+     */
+    public void onStatusesChanged(Collection<Long> itemIds) {
+        List<Item> items = itemRepository.findAllById(itemIds);
+        Map<Long, LastAndNext> bookings = find(items.stream().map(Item::getId).toList(), LocalDateTime.now());
+        for (Item item : items) {
+            set(item, bookings.get(item.getId()));
+        }
+    }
+
+    /**
+     * Сдвигает ссылки вещей, следующее бронирование которых уже началось, пачками по {@value #BATCH_SIZE} вещей
+     * в отдельной транзакции на пачку, чтобы не держать блокировку всех таких вещей сразу.
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int rolled;
+        do {
+            rolled = transactionTemplate.execute(status -> rollForward(now));
+            total += rolled;
+        } while (rolled == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Last and next bookings of {} items rolled forward", total);
+        }
+    }
+
+    /**
+     * После сдвига следующее бронирование вещи начинается позже {@code now}, поэтому следующая пачка её не выберет.
+     */
+    private int rollForward(LocalDateTime now) {
+        List<Item> items = itemRepository.findAllWithStartedNextBookingForUpdate(now, Limit.of(BATCH_SIZE));
+        Map<Long, LastAndNext> bookings = find(items.stream().map(Item::getId).toList(), now);
+        for (Item item : items) {
+            set(item, bookings.get(item.getId()));
+        }
+        return items.size();
+    }
+
+    /**
+     * Заполняет ссылки вещей с подтверждёнными бронированиями, у которых ссылок нет, например у бронирований,
+     * сохранённых до появления ссылок.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void fillMissing() {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.getJdbcTemplate().update(FILL_MISSING_SQL, now, now);
+        if (updated > 0) {
+            log.info("Last and next bookings filled for {} items", updated);
+        }
+    }
+
+    private static void set(Item item, LastAndNext bookings) {
+        item.setLastBooking(bookings.last());
+        item.setNextBooking(bookings.next());
+    }
+
+    /**
+     * Для каждой вещи берёт по индексу {@code (item_id, status, start_date)} одно начавшееся подтверждённое
+     * бронирование с самым поздним началом и одно будущее с самым ранним, не читая остальную историю вещи,
+     * затем загружает найденные бронирования одним запросом.
+     */
+    private Map<Long, LastAndNext> find(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, Long> lastIds = new HashMap<>();
+        Map<Long, Long> nextIds = new HashMap<>();
+        for (int from = 0; from < itemIds.size(); from += BATCH_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("itemIds", itemIds.subList(from, Math.min(from + BATCH_SIZE, itemIds.size())))
+                    .addValue("now", now);
+            jdbcTemplate.query(LAST_AND_NEXT_SQL, parameters, rs -> {
+                long itemId = rs.getLong("item_id");
+                long lastId = rs.getLong("last_booking_id");
+                if (!rs.wasNull()) {
+                    lastIds.put(itemId, lastId);
+                }
+                long nextId = rs.getLong("next_booking_id");
+                if (!rs.wasNull()) {
+                    nextIds.put(itemId, nextId);
+                }
+            });
+        }
+        Set<Long> bookingIds = new HashSet<>(lastIds.values());
+        bookingIds.addAll(nextIds.values());
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, LastAndNext> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            result.put(itemId, new LastAndNext(bookings.get(lastIds.get(itemId)), bookings.get(nextIds.get(itemId))));
+        }
+        return result;
+    }
+
+    private static boolean isReferenced(Booking reference, Booking booking) {
+        return reference != null && Objects.equals(reference.getId(), booking.getId());
+    }
+
+    public record LastAndNext(Booking last, Booking next) {
+    }
+}
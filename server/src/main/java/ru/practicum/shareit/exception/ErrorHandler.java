@@ -33,7 +33,15 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage(), Arrays.toString(e.getStackTrace()));
     }
 
-    @ExceptionHandler(value = {ItemNotAvailableException.class, MethodArgumentNotValidException.class, CommentForNotStartedBookingException.class})
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        log.warn("ERROR  ", e);
+        return new ErrorResponse(e.getMessage(), Arrays.toString(e.getStackTrace()));
+    }
+
+    @ExceptionHandler(value = {ItemNotAvailableException.class, MethodArgumentNotValidException.class, CommentForNotStartedBookingException.class,
+            InvalidPageException.class, InvalidBookingIdsException.class, InvalidSimilarityException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBadRequestException(final Exception e) {
         log.warn("ERROR  ", e);
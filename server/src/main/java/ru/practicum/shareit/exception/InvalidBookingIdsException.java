@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidBookingIdsException extends RuntimeException {
+    public InvalidBookingIdsException(String message) {
+        super(message);
+    }
+}
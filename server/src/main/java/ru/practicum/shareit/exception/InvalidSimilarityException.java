@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidSimilarityException extends RuntimeException {
+    public InvalidSimilarityException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -16,6 +17,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.ItemBookingReferences;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -29,6 +36,8 @@ import java.util.Objects;
 @NoArgsConstructor
 @Entity
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 public class Item {
 
     @Id
@@ -47,12 +56,31 @@ public class Item {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @OneToOne
     @JoinColumn(name = "request_id", unique = true)
     private ItemRequest request;
 
+    /**
+     * Последнее начавшееся подтверждённое бронирование, поддерживается {@link ItemBookingReferences}.
+     */
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Booking lastBooking;
+
+    /**
+     * Ближайшее будущее подтверждённое бронирование, поддерживается {@link ItemBookingReferences}.
+     */
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Booking nextBooking;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
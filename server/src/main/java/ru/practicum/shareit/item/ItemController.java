@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,10 +14,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -64,13 +68,57 @@ public class ItemController {
 
     @GetMapping("/search")
     public Collection<ItemFullDto> search(@RequestHeader(USER_ID_HEADER) long userId,
-                                          @RequestParam(name = "text") String text) {
+                                          @RequestParam(name = "text") String text,
+                                          @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                          @RequestParam(name = "similarity", defaultValue = "0.3") double similarity,
+                                          @RequestParam(name = "start", required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                          @RequestParam(name = "end", required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                          @RequestParam(name = "from", defaultValue = "0") int from,
+                                          @RequestParam(name = "size", defaultValue = "10") int size) {
         log.info("Searching items with text {} in name or description", text);
-        Collection<ItemFullDto> result = itemService.search(text);
+        Collection<ItemFullDto> result = fuzzy
+                ? itemService.searchSimilar(text, similarity, start, end, from, size)
+                : itemService.search(text, start, end, from, size);
         log.info("Searching items with text {} finished", text);
         return result;
     }
 
+    @GetMapping("/autocomplete")
+    public Collection<ItemSuggestionDto> autocomplete(@RequestHeader(USER_ID_HEADER) long userId,
+                                                      @RequestParam(name = "prefix") String prefix,
+                                                      @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Suggesting item names for prefix {}", prefix);
+        Collection<ItemSuggestionDto> result = itemService.autocomplete(prefix, size);
+        log.info("Suggesting item names for prefix {} finished", prefix);
+        return result;
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Collection<CommentFullDto> getComments(@RequestHeader(USER_ID_HEADER) long userId,
+                                                  @PathVariable(name = "itemId") long itemId,
+                                                  @RequestParam(name = "from", defaultValue = "0") int from,
+                                                  @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Getting comments of item with id {}, from: {}, size: {}", itemId, from, size);
+        Collection<CommentFullDto> result = itemService.getComments(itemId, from, size);
+        log.info("Getting comments of item with id {} finished", itemId);
+        return result;
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Collection<FreeIntervalDto> getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                                       @PathVariable(name = "itemId") long itemId,
+                                                       @RequestParam(name = "from")
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam(name = "to")
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Getting availability of item with id {} from {} to {}", itemId, from, to);
+        Collection<FreeIntervalDto> result = itemService.getAvailability(itemId, from, to);
+        log.info("Getting availability of item with id {} finished", itemId);
+        return result;
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentFullDto addComment(@RequestHeader(USER_ID_HEADER) long userId,
                                      @PathVariable(name = "itemId") long itemId,
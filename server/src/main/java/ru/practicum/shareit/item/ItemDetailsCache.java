@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Кэш собранных ответов {@link ItemService#get}: вещь, комментарии, последнее и следующее бронирование.
+ *
+ * <p>Запись живёт не дольше {@value #MAX_TTL_MINUTES} минут и не дольше начала ближайшего будущего бронирования:
+ * с этого момента последнее и следующее бронирование вещи меняются. Изменения вещи, её комментариев и бронирований
+ * сбрасывают запись после коммита. Сборка ответа для одной вещи выполняется один раз, а сброс, пришедший во время
+ * сборки, дожидается её и удаляет результат, поэтому устаревший ответ в кэше не остаётся.
+ *
+ * <p>Ответы из кэша общие для всех запросов и не должны изменяться.
+ */
+@Component
+public class ItemDetailsCache {
+
+    static final long MAX_TTL_MINUTES = 5;
+
+    private static final int MAX_SIZE = 10_000;
+
+    private final Cache<Long, Entry> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfter(new Expiry<Long, Entry>() {
+                @Override
+                public long expireAfterCreate(Long itemId, Entry entry, long currentTime) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(Long itemId, Entry entry, long currentTime, long currentDuration) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(Long itemId, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ItemDetailsCache(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Возвращает ответ из кэша, а если его нет — собирает его {@code loader} в читающей транзакции;
+     * при попадании в кэш транзакция не открывается.
+     */
+    public ItemFullDto get(long itemId, Supplier<ItemFullDto> loader) {
+        return cache.get(itemId, id -> {
+            LocalDateTime now = LocalDateTime.now();
+            ItemFullDto item = readOnlyTransaction.execute(status -> loader.get());
+            LocalDateTime validUntil = now.plusMinutes(MAX_TTL_MINUTES);
+            if (item.getNextBooking() != null && item.getNextBooking().getStart().isBefore(validUntil)) {
+                validUntil = item.getNextBooking().getStart();
+            }
+            return new Entry(item, validUntil);
+        }).item();
+    }
+
+    public void evict(long itemId) {
+        AfterCommit.run(() -> cache.invalidate(itemId));
+    }
+
+    /**
+     * Вызывается, когда вещи удаляются каскадом в базе и неизвестно, какие из них были в кэше.
+     */
+    public void evictAll() {
+        AfterCommit.run(cache::invalidateAll);
+    }
+
+    private record Entry(ItemFullDto item, LocalDateTime validUntil) {
+
+        Duration ttl() {
+            Duration ttl = Duration.between(LocalDateTime.now(), validUntil);
+            return ttl.isNegative() ? Duration.ZERO : ttl;
+        }
+    }
+}
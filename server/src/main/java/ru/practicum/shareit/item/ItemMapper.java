@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ItemRequestMapper.class,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface ItemMapper {
+
+    /**
+     * Бронирования и комментарии заполняются сервисом отдельно.
+     */
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    ItemFullDto toItemFullDto(Item item);
+
+    List<ItemFullDto> toItemFullDtos(Collection<Item> items);
+
+    @Mapping(target = "userId", source = "user.id")
+    ItemForRequestDto toItemForRequestDto(Item item);
+
+    Set<ItemForRequestDto> toItemForRequestDtos(Collection<Item> items);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "request", source = "requestId")
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    Item toItem(ItemCreateDto itemDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "request", ignore = true)
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    Item toItem(ItemUpdateDto itemDto);
+
+    /**
+     * Ссылка на запрос по id без загрузки самого запроса.
+     */
+    default ItemRequest itemRequestFromId(Long requestId) {
+        if (requestId == null) {
+            return null;
+        }
+        return ItemRequest.builder()
+                .id(requestId)
+                .build();
+    }
+}
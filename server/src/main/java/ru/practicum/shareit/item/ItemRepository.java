@@ -1,20 +1,76 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.BookingStatus;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Set;
+import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
     Collection<Item> findAllByUserId(long userId);
 
+    @Query("select item.id from Item item where item.user.id = :userId")
+    List<Long> findIdsByUserId(long userId);
+
+    /**
+     * Вещь с блокировкой строки до конца транзакции: бронирования одной вещи создаются и подтверждаются по очереди.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item from Item item where item.id = :id")
+    Optional<Item> findByIdForUpdate(long id);
+
+    /**
+     * Вещи с блокировкой строк по возрастанию id, чтобы параллельные запросы не ждали друг друга по кругу.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item from Item item where item.id in :ids order by item.id")
+    List<Item> findAllByIdInForUpdate(Collection<Long> ids);
+
+    /**
+     * Вещи владельца {@code userId}, к которым относятся бронирования {@code bookingIds}, с блокировкой строк.
+     * Вещи блокируются по возрастанию id, чтобы параллельные запросы не ждали друг друга по кругу.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item from Item item where item.user.id = :userId" +
+            " and item.id in (select b.item.id from Booking b where b.id in :bookingIds)" +
+            " order by item.id")
+    List<Item> findAllByUserIdAndBookingIdInForUpdate(long userId, Collection<Long> bookingIds);
+
+    /**
+     * Не больше {@code limit} вещей, следующее бронирование которых началось не позже {@code now}, с блокировкой
+     * строк по возрастанию id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item from Item item join item.nextBooking booking where booking.start <= :now order by item.id")
+    List<Item> findAllWithStartedNextBookingForUpdate(LocalDateTime now, Limit limit);
+
+    @Query("select item from Item item" +
+            " where item.available = true" +
+            " and (lower(item.description) like lower(concat('%', :text, '%'))" +
+            " or lower(item.name) like lower(concat('%', :text, '%')))" +
+            " order by item.id")
+    List<Item> searchByDescriptionOrName(String text, Pageable pageable);
+
     @Query("select item from Item item" +
             " where item.available = true" +
             " and (lower(item.description) like lower(concat('%', :text, '%'))" +
-            " or lower(item.name) like lower(concat('%', :text, '%')))")
-    Collection<Item> searchByDescriptionOrName(String text);
+            " or lower(item.name) like lower(concat('%', :text, '%')))" +
+            " and not exists (select b from Booking b where b.item = item and b.status = :status" +
+            " and b.start < :end and b.end > :start)" +
+            " order by item.id")
+    List<Item> searchNotBookedByDescriptionOrName(String text, BookingStatus status, LocalDateTime start,
+                                                  LocalDateTime end, Pageable pageable);
 
-    Set<Item> findAllByRequestId(long requestId);
+    @Query("select item from Item item join fetch item.request request where request.id in :requestIds")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
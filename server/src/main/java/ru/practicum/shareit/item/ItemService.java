@@ -2,10 +2,13 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -18,7 +21,29 @@ public interface ItemService {
 
     Collection<ItemFullDto> getItemsOfOwner(long userId);
 
-    Collection<ItemFullDto> search(String text);
+    /**
+     * Если заданы {@code start} и {@code end}, находит только вещи без подтверждённых бронирований в этом периоде.
+     */
+    Collection<ItemFullDto> search(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    /**
+     * Поиск с опечатками: слово запроса совпадает со словами, похожими на него не меньше чем на {@code similarity}.
+     */
+    Collection<ItemFullDto> searchSimilar(String text, double similarity, LocalDateTime start, LocalDateTime end,
+                                          int from, int size);
+
+    Collection<ItemSuggestionDto> autocomplete(String prefix, int size);
+
+    /**
+     * @return комментарии вещи, новые первыми
+     */
+    Collection<CommentFullDto> getComments(long itemId, int from, int size);
+
+    /**
+     * @return промежутки окна {@code [from, to)}, не занятые ожидающими и подтверждёнными бронированиями вещи,
+     * по возрастанию
+     */
+    Collection<FreeIntervalDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentFullDto createComment(long itemId, long userId, CommentCreateDto comment);
 }
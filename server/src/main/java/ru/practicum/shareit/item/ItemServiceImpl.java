@@ -2,13 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.OffsetPageRequest;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingReferences;
+import ru.practicum.shareit.booking.ItemBookingReferences.LastAndNext;
 import ru.practicum.shareit.exception.CommentForNotStartedBookingException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.PermissionDeniedException;
@@ -16,22 +20,28 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.comment.CommentShortDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.search.BookingWindow;
+import ru.practicum.shareit.item.search.ItemNameAutocomplete;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchVocabulary;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -47,23 +57,44 @@ public class ItemServiceImpl implements ItemService {
 
     private final CommentRepository commentRepository;
 
-    private final ModelMapper mapper;
+    private final ItemMapper mapper;
+
+    private final CommentMapper commentMapper;
+
+    private final BookingMapper bookingMapper;
+
+    private final ItemSearchEngine searchEngine;
+
+    private final ItemNameAutocomplete autocomplete;
+
+    private final ItemDetailsCache detailsCache;
+
+    private final ItemBookingReferences bookingReferences;
+
+    /**
+     * Сколько последних комментариев показывать у каждой вещи в списке вещей владельца,
+     * остальные доступны через {@link #getComments}.
+     */
+    @Value("${shareit.items.comments-per-item:10}")
+    private int commentsPerItem;
 
     @Override
     public ItemFullDto create(long userId, ItemCreateDto item) {
         log.info("Starting creating item {} for user with id {}", item, userId);
-        Item itemForCreate = mapper.map(item, Item.class);
+        Item itemForCreate = mapper.toItem(item);
         itemForCreate.setUser(userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with id " + userId + " not found")));
         Item itemSaved = itemRepository.save(itemForCreate);
+        searchEngine.index(itemSaved);
+        autocomplete.index(itemSaved);
         log.info("Item {} for user with id {} created", itemSaved.getId(), userId);
-        return mapper.map(itemSaved, ItemFullDto.class);
+        return mapper.toItemFullDto(itemSaved);
     }
 
     @Override
     public ItemFullDto update(long userId, ItemUpdateDto item, long itemId) {
         log.info("Starting updating item {} for user with id {}", item, userId);
-        Item itemForUpdate = mapper.map(item, Item.class);
+        Item itemForUpdate = mapper.toItem(item);
         Item itemFromRepository = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found",
                         itemId)));
@@ -85,44 +116,38 @@ public class ItemServiceImpl implements ItemService {
         if (itemForUpdate.getAvailable() == null) {
             itemForUpdate.setAvailable(itemFromRepository.getAvailable());
         }
+        itemForUpdate.setLastBooking(itemFromRepository.getLastBooking());
+        itemForUpdate.setNextBooking(itemFromRepository.getNextBooking());
         itemRepository.save(itemForUpdate);
+        searchEngine.index(itemForUpdate);
+        autocomplete.index(itemForUpdate);
+        detailsCache.evict(itemId);
         log.info("Item with id {} updated", itemForUpdate.getId());
-        return mapper.map(itemForUpdate, ItemFullDto.class);
+        return mapper.toItemFullDto(itemForUpdate);
     }
 
+    /**
+     * Ответ собирается в транзакции кэша только при промахе, поэтому здесь транзакция не нужна.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemFullDto get(long itemId) {
         log.info("Starting getting item with id {}", itemId);
+        ItemFullDto itemDto = detailsCache.get(itemId, () -> load(itemId));
+        log.info("Item with id {} received", itemId);
+        return itemDto;
+    }
+
+    private ItemFullDto load(long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found", itemId)));
 
         Collection<Comment> comments = commentRepository.findAllByItemId(itemId);
-        Collection<CommentShortDto> commentDtos = mapper.map(comments, new TypeToken<Collection<CommentShortDto>>() {
-        }.getType());
-        ItemFullDto itemDto = mapper.map(item, ItemFullDto.class);
+        Collection<CommentShortDto> commentDtos = commentMapper.toCommentShortDtos(comments);
+        ItemFullDto itemDto = mapper.toItemFullDto(item);
         itemDto.setComments(commentDtos);
 
-        LocalDateTime now = LocalDateTime.now();
-        Collection<Booking> bookings = bookingRepository.findAllByItemId(itemId);
-
-        Optional<Booking> lastBooking = bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(now))
-                .max(Comparator.comparing(Booking::getEnd));
-
-        BookingShortDto lastBookingDto = mapper.map(lastBooking, BookingShortDto.class);
-
-        itemDto.setLastBooking(lastBookingDto);
-
-        Optional<Booking> nextBooking = bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart));
-
-        BookingShortDto nextBookingDto = mapper.map(nextBooking, BookingShortDto.class);
-
-        itemDto.setNextBooking(nextBookingDto);
-
-        log.info("Item with id {} received", item.getId());
+        setBookings(itemDto, bookingReferences.resolve(item, LocalDateTime.now()));
         return itemDto;
     }
 
@@ -135,65 +160,126 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Collection<Item> itemsOfOwner = itemRepository.findAllByUserId(userId);
-        Collection<ItemFullDto> itemDtos = mapper.map(itemsOfOwner, new TypeToken<Collection<ItemFullDto>>() {
-        }.getType());
-        List<Long> itemIds = itemsOfOwner.stream()
-                .map(Item::getId)
-                .toList();
-
 
-        Collection<Comment> comments = commentRepository.findAllByItemIn(itemsOfOwner);
-        Collection<CommentShortDto> commentsDtos = mapper.map(comments, new TypeToken<Collection<CommentShortDto>>() {
-        }.getType());
-
-
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(itemIds);
-        if (!bookings.isEmpty()) {
-            Map<Long, List<Booking>> bookingsByItemIds = bookings.stream()
-                    .collect(Collectors.groupingBy(b -> b.getItem().getId()));
-
-            LocalDateTime now = LocalDateTime.now();
-
-            for (ItemFullDto item : itemDtos) {
-                Optional<Booking> lastBooking = bookingsByItemIds.get(item.getId()).stream()
-                        .filter(booking -> booking.getStart().isAfter(now))
-                        .max(Comparator.comparing(Booking::getEnd));
-                BookingShortDto lastBookingDto = mapper.map(lastBooking, BookingShortDto.class);
-                item.setLastBooking(lastBookingDto);
-
-                Optional<Booking> nextBooking = bookingsByItemIds.get(item.getId()).stream()
-                        .filter(booking -> booking.getStart().isAfter(now))
-                        .min(Comparator.comparing(Booking::getStart));
-                BookingShortDto nextBookingDto = mapper.map(nextBooking, BookingShortDto.class);
-                item.setNextBooking(nextBookingDto);
-
-                item.setComments(commentsDtos);
+        Map<Long, List<CommentShortDto>> comments = new HashMap<>();
+        if (!itemsOfOwner.isEmpty()) {
+            List<Long> itemIds = itemsOfOwner.stream()
+                    .map(Item::getId)
+                    .toList();
+            for (Comment comment : commentRepository.findLatestByItemIdIn(itemIds, commentsPerItem)) {
+                comments.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>())
+                        .add(commentMapper.toCommentShortDto(comment));
             }
         }
+
+        Map<Long, LastAndNext> bookings = bookingReferences.resolve(itemsOfOwner, LocalDateTime.now());
+        List<ItemFullDto> itemDtos = new ArrayList<>(itemsOfOwner.size());
+        for (Item item : itemsOfOwner) {
+            ItemFullDto itemDto = mapper.toItemFullDto(item);
+            setBookings(itemDto, bookings.get(item.getId()));
+            itemDto.setComments(comments.getOrDefault(item.getId(), List.of()));
+            itemDtos.add(itemDto);
+        }
         log.info("Items of user with id {} received", userId);
         return itemDtos;
     }
 
+    private void setBookings(ItemFullDto itemDto, LastAndNext bookings) {
+        itemDto.setLastBooking(bookingMapper.toBookingShortDto(bookings.last()));
+        itemDto.setNextBooking(bookingMapper.toBookingShortDto(bookings.next()));
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Collection<ItemFullDto> search(String text) {
+    public Collection<ItemFullDto> search(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        // движки подставляют from и size в запрос как есть, поэтому страница проверяется до них
+        OffsetPageRequest.of(from, size);
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        log.info("Starting searching items by text {}", text);
-        Collection<Item> result = itemRepository
-                .searchByDescriptionOrName(text);
+        log.info("Starting searching items by text {}, free from {} to {}, from: {}, size: {}", text, start, end,
+                from, size);
+        Collection<Item> result = searchEngine.search(text, BookingWindow.of(start, end), from, size);
         log.info("Items by text {} received", text);
-        Collection<ItemFullDto> resultDto = mapper.map(result, new TypeToken<Collection<ItemFullDto>>() {
-        }.getType());
+        Collection<ItemFullDto> resultDto = mapper.toItemFullDtos(result);
         return resultDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemFullDto> searchSimilar(String text, double similarity, LocalDateTime start,
+                                                 LocalDateTime end, int from, int size) {
+        OffsetPageRequest.of(from, size);
+        SearchVocabulary.checkSimilarity(similarity);
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        log.info("Starting fuzzy searching items by text {}, similarity: {}, free from {} to {}, from: {}, size: {}",
+                text, similarity, start, end, from, size);
+        Collection<Item> result = searchEngine.searchSimilar(text, similarity, BookingWindow.of(start, end), from,
+                size);
+        log.info("Items similar to text {} received", text);
+        return mapper.toItemFullDtos(result);
+    }
+
+    /**
+     * Подсказки берутся из индекса в памяти, соединение с базой не нужно.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Collection<ItemSuggestionDto> autocomplete(String prefix, int size) {
+        log.info("Starting autocomplete of item names by prefix {}, size: {}", prefix, size);
+        Collection<ItemSuggestionDto> result = autocomplete.suggest(prefix, size);
+        log.info("{} item names for prefix {} suggested", result.size(), prefix);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<CommentFullDto> getComments(long itemId, int from, int size) {
+        log.info("Starting getting comments of item with id {}, from: {}, size: {}", itemId, from, size);
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found", itemId));
+        }
+        List<Comment> comments = commentRepository.findAllByItemIdOrderByIdDesc(itemId,
+                OffsetPageRequest.of(from, size));
+        log.info("Comments of item with id {} received", itemId);
+        return comments.stream()
+                .map(commentMapper::toCommentFullDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<FreeIntervalDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Starting getting availability of item with id {} from {} to {}", itemId, from, to);
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found", itemId));
+        }
+        List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusInOverlapping(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), from, to);
+        List<FreeIntervalDto> result = new ArrayList<>();
+        LocalDateTime free = from;
+        for (Booking booking : bookings) {
+            if (booking.getStart().isAfter(free)) {
+                result.add(new FreeIntervalDto(free, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(free)) {
+                free = booking.getEnd();
+            }
+        }
+        if (free.isBefore(to)) {
+            result.add(new FreeIntervalDto(free, to));
+        }
+        log.info("Availability of item with id {} received: {} free intervals", itemId, result.size());
+        return result;
+    }
+
     @Override
     public CommentFullDto createComment(long itemId, long userId, CommentCreateDto comment) {
         log.info("Starting creating comment {} for item with id {} and user with id {}", comment,
                 itemId, userId);
-        Comment commentForCreate = mapper.map(comment, Comment.class);
+        Comment commentForCreate = commentMapper.toComment(comment);
         commentForCreate.setItem(itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found", itemId))));
         commentForCreate.setAuthor(userRepository.findById(userId)
@@ -215,8 +301,9 @@ public class ItemServiceImpl implements ItemService {
         }
         if (isItemReallyBookedByUser) {
             Comment savedComment = commentRepository.save(commentForCreate);
+            detailsCache.evict(itemId);
             log.info("Comment {} created", savedComment);
-            CommentFullDto savedCommentDto = mapper.map(savedComment, CommentFullDto.class);
+            CommentFullDto savedCommentDto = commentMapper.toCommentFullDto(savedComment);
             savedCommentDto.setCreated(now);
             savedCommentDto.setAuthorName(savedComment.getAuthor().getName());
             return savedCommentDto;
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.comment;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface CommentMapper {
+
+    CommentShortDto toCommentShortDto(Comment comment);
+
+    List<CommentShortDto> toCommentShortDtos(Collection<Comment> comments);
+
+    @Mapping(target = "created", ignore = true)
+    @Mapping(target = "authorName", source = "author.name")
+    CommentFullDto toCommentFullDto(Comment comment);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "item", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    Comment toComment(CommentCreateDto commentDto);
+}
@@ -1,13 +1,27 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.item.Item;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Collection<Comment> findAllByItemId(long itemId);
 
-    Collection<Comment> findAllByItemIn(Collection<Item> items);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdOrderByIdDesc(long itemId, Pageable pageable);
+
+    /**
+     * Не больше {@code limit} последних комментариев каждой вещи, новые первыми.
+     */
+    @Query(value = "SELECT c.comment_id, c.text, c.item_id, c.author_id FROM (" +
+            "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.comment_id DESC) AS rn" +
+            " FROM comments c WHERE c.item_id IN (:itemIds)) c" +
+            " WHERE c.rn <= :limit" +
+            " ORDER BY c.item_id, c.comment_id DESC", nativeQuery = true)
+    List<Comment> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период {@code [start, end)}, на который ищутся вещи: найденная вещь не занята в нём подтверждённым бронированием.
+ */
+public record BookingWindow(LocalDateTime start, LocalDateTime end) {
+
+    /**
+     * @return период или {@code null}, если он не задан
+     */
+    public static BookingWindow of(LocalDateTime start, LocalDateTime end) {
+        return start == null || end == null ? null : new BookingWindow(start, end);
+    }
+}
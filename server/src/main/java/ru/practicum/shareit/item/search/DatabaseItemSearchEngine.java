@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Полнотекстовый поиск по таблице {@code item_search_tokens}: токены вещи пересобираются при каждом
+ * изменении, запрос находит вещи, у которых есть все слова запроса, и сортирует их по сумме весов.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SEARCH_SQL = "SELECT t.item_id FROM item_search_tokens t" +
+            " JOIN items i ON i.item_id = t.item_id" +
+            " WHERE t.token IN (:tokens) AND i.is_available = TRUE%s" +
+            " GROUP BY t.item_id" +
+            " HAVING COUNT(*) = :tokensCount" +
+            " ORDER BY SUM(t.weight) DESC, t.item_id" +
+            " LIMIT :size OFFSET :from";
+
+    private static final String SIMILAR_SQL = "SELECT s.item_id FROM (" +
+            "SELECT t.item_id, %1$s AS word_no, MAX(t.weight * %2$s) AS score" +
+            " FROM item_search_tokens t" +
+            " WHERE t.token IN (:tokens)" +
+            " GROUP BY t.item_id, word_no) s" +
+            " JOIN items i ON i.item_id = s.item_id" +
+            " WHERE i.is_available = TRUE%3$s" +
+            " GROUP BY s.item_id" +
+            " HAVING COUNT(*) = :wordsCount" +
+            " ORDER BY SUM(s.score) DESC, s.item_id" +
+            " LIMIT :size OFFSET :from";
+
+    private static final String NOT_BOOKED_SQL = " AND NOT EXISTS (SELECT 1 FROM bookings b" +
+            " WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_date < :end AND b.end_date > :start)";
+
+    private static final String DELETE_SQL = "DELETE FROM item_search_tokens WHERE item_id = :itemId";
+
+    private static final String INSERT_SQL = "INSERT INTO item_search_tokens (item_id, token, weight)" +
+            " VALUES (:itemId, :token, :weight)";
+
+    private static final String NOT_INDEXED_SQL = "SELECT i.item_id, i.name, i.description FROM items i" +
+            " WHERE NOT EXISTS (SELECT 1 FROM item_search_tokens t WHERE t.item_id = i.item_id)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ItemRepository itemRepository;
+
+    private final SearchVocabulary vocabulary;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> search(String text, BookingWindow window, int from, int size) {
+        List<String> words = ItemSearchTokenizer.words(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tokens", words)
+                .addValue("tokensCount", words.size())
+                .addValue("size", size)
+                .addValue("from", from);
+        String sql = SEARCH_SQL.formatted(notBooked(window, parameters));
+        List<Long> ids = jdbcTemplate.queryForList(sql, parameters, Long.class);
+        return ItemSearchResults.load(itemRepository, ids);
+    }
+
+    /**
+     * Слова запроса сопоставляются с похожими словами словаря, а релевантность токена умножается на похожесть.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> searchSimilar(String text, double similarity, BookingWindow window, int from, int size) {
+        List<String> words = SearchVocabulary.queryWords(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("wordsCount", words.size())
+                .addValue("size", size)
+                .addValue("from", from);
+        // условие на период подставляется сразу, а номера слов и похожесть — в bind
+        String sql = SIMILAR_SQL.formatted("%1$s", "%2$s", notBooked(window, parameters));
+        sql = SearchVocabulary.bind(sql, vocabulary.variants(words, similarity), parameters);
+        List<Long> ids = jdbcTemplate.queryForList(sql, parameters, Long.class);
+        return ItemSearchResults.load(itemRepository, ids);
+    }
+
+    /**
+     * Вещи, занятые в периоде, отсекаются в том же запросе антисоединением с {@code bookings} по индексу
+     * {@code (item_id, end_date)}, а не проверкой бронирований каждой найденной вещи.
+     */
+    private static String notBooked(BookingWindow window, MapSqlParameterSource parameters) {
+        if (window == null) {
+            return "";
+        }
+        parameters.addValue("start", window.start())
+                .addValue("end", window.end());
+        return NOT_BOOKED_SQL;
+    }
+
+    @Override
+    @Transactional
+    public void index(Item item) {
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("itemId", item.getId()));
+        insertTokens(tokenParameters(item.getId(), item.getName(), item.getDescription()));
+        vocabulary.add(words(item.getName(), item.getDescription()));
+    }
+
+    /**
+     * Индексирует вещи, для которых ещё нет токенов, например созданные до появления индекса.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void indexMissing() {
+        List<MapSqlParameterSource> batch = new ArrayList<>();
+        int[] indexed = {0};
+        Set<String> words = new HashSet<>();
+        jdbcTemplate.query(NOT_INDEXED_SQL, rs -> {
+            batch.addAll(tokenParameters(rs.getLong("item_id"), rs.getString("name"), rs.getString("description")));
+            words.addAll(words(rs.getString("name"), rs.getString("description")));
+            indexed[0]++;
+            if (batch.size() >= BATCH_SIZE) {
+                insertTokens(batch);
+                batch.clear();
+            }
+        });
+        insertTokens(batch);
+        vocabulary.add(words);
+        if (indexed[0] > 0) {
+            log.info("Search tokens created for {} items", indexed[0]);
+        }
+    }
+
+    private List<MapSqlParameterSource> tokenParameters(long itemId, String name, String description) {
+        return ItemSearchTokenizer.indexTokens(name, description).entrySet().stream()
+                .map(token -> new MapSqlParameterSource()
+                        .addValue("itemId", itemId)
+                        .addValue("token", token.getKey())
+                        .addValue("weight", token.getValue()))
+                .toList();
+    }
+
+    private static Set<String> words(String name, String description) {
+        Set<String> words = new HashSet<>(ItemSearchTokenizer.words(name));
+        words.addAll(ItemSearchTokenizer.words(description));
+        return words;
+    }
+
+    private void insertTokens(List<MapSqlParameterSource> tokens) {
+        if (!tokens.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, tokens.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Инвертированный индекс вещей в памяти сервера: для каждой триграммы слов названия и описания хранится
+ * отсортированный массив id вещей. Поиск пересекает массивы триграмм слов запроса и проверяет кандидатов
+ * по тексту вещи, поэтому находит любую подстроку слова, а не только его начало.
+ *
+ * <p>Занятость вещей в периоде индекс не хранит: найденные вещи в порядке релевантности проверяются пачками, одним
+ * запросом к {@code bookings} на пачку, пока не наберётся страница свободных.
+ *
+ * <p>Чтение идёт без блокировок: массивы не изменяются, а заменяются целиком; запись выполняется под монитором.
+ * Изменения применяются после коммита транзакции, а при старте индекс строится заново по таблице {@code items}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final long[] EMPTY = new long[0];
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String BOOKED_SQL = "SELECT DISTINCT item_id FROM bookings" +
+            " WHERE item_id IN (:itemIds) AND status = 'APPROVED' AND start_date < :end AND end_date > :start";
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::score).reversed()
+            .thenComparingLong(Match::id);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ItemRepository itemRepository;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    private final Map<Long, long[]> postings = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Item> search(String text, BookingWindow window, int from, int size) {
+        List<Long> ids = window == null ? searchIds(text, from, size) : searchIds(text, window, from, size);
+        return ItemSearchResults.load(itemRepository, ids);
+    }
+
+    List<Long> searchIds(String text, BookingWindow window, int from, int size) {
+        List<Long> matches = searchIds(text, 0, Integer.MAX_VALUE);
+        List<Long> free = new ArrayList<>();
+        int limit = limit(from, size);
+        for (int i = 0; i < matches.size() && free.size() < limit; i += BATCH_SIZE) {
+            List<Long> batch = matches.subList(i, Math.min(i + BATCH_SIZE, matches.size()));
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("itemIds", batch)
+                    .addValue("start", window.start())
+                    .addValue("end", window.end());
+            Set<Long> booked = new HashSet<>(namedJdbcTemplate.queryForList(BOOKED_SQL, parameters, Long.class));
+            for (Long id : batch) {
+                if (!booked.contains(id)) {
+                    free.add(id);
+                }
+            }
+        }
+        return free.subList(Math.min(from, free.size()), Math.min(limit, free.size()));
+    }
+
+    List<Long> searchIds(String text, int from, int size) {
+        List<String> words = ItemSearchTokenizer.words(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        // в куче хранятся лучшие from + size совпадений, на вершине — худшее из них
+        PriorityQueue<Match> top = new PriorityQueue<>(BEST_FIRST.reversed());
+        int limit = limit(from, size);
+        long[] candidates = candidates(words);
+        if (candidates == null) {
+            documents.forEach((id, document) -> addMatch(top, limit, id, document, words));
+        } else {
+            for (long id : candidates) {
+                Document document = documents.get(id);
+                if (document != null) {
+                    addMatch(top, limit, id, document, words);
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(BEST_FIRST);
+        return matches.stream()
+                .skip(from)
+                .map(Match::id)
+                .toList();
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        Document document = Document.of(item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+        AfterCommit.run(() -> put(id, document));
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        List<Long> ids = List.copyOf(itemIds);
+        AfterCommit.run(() -> ids.forEach(this::remove));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        jdbcTemplate.query("SELECT item_id, name, description, is_available FROM items", rs -> {
+            put(rs.getLong("item_id"),
+                    Document.of(rs.getString("name"), rs.getString("description"), rs.getBoolean("is_available")));
+        });
+        log.info("In-memory search index built for {} items", documents.size());
+    }
+
+    /**
+     * @return {@code from + size}, но не больше {@link Integer#MAX_VALUE}: при переполнении куча лучших совпадений
+     * осталась бы пустой
+     */
+    private static int limit(int from, int size) {
+        return (int) Math.min((long) from + size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return id вещей, содержащих все триграммы запроса, или {@code null}, если в запросе нет слов длиннее двух букв
+     */
+    private long[] candidates(List<String> words) {
+        Set<Long> grams = new HashSet<>();
+        for (String word : words) {
+            addGrams(grams, word);
+        }
+        if (grams.isEmpty()) {
+            return null;
+        }
+        long[][] lists = new long[grams.size()][];
+        int i = 0;
+        for (long gram : grams) {
+            long[] list = postings.get(gram);
+            if (list == null) {
+                return EMPTY;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        long[] result = lists[0];
+        for (int j = 1; j < lists.length && result.length > 0; j++) {
+            result = intersect(result, lists[j]);
+        }
+        return result;
+    }
+
+    private static void addMatch(PriorityQueue<Match> top, int limit, long id, Document document, List<String> words) {
+        if (!document.available()) {
+            return;
+        }
+        int score = 0;
+        for (String word : words) {
+            int wordScore = document.score(word);
+            if (wordScore == 0) {
+                return;
+            }
+            score += wordScore;
+        }
+        Match match = new Match(id, score);
+        if (top.size() < limit) {
+            top.add(match);
+        } else if (BEST_FIRST.compare(match, top.peek()) < 0) {
+            top.poll();
+            top.add(match);
+        }
+    }
+
+    private synchronized void put(long id, Document document) {
+        Document previous = documents.put(id, document);
+        Set<Long> oldGrams = previous == null ? Set.of() : previous.grams();
+        Set<Long> newGrams = document.grams();
+        for (long gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                postings.compute(gram, (key, list) -> insert(list == null ? EMPTY : list, id));
+            }
+        }
+        for (long gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                postings.computeIfPresent(gram, (key, list) -> remove(list, id));
+            }
+        }
+    }
+
+    private synchronized void remove(long id) {
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            for (long gram : previous.grams()) {
+                postings.computeIfPresent(gram, (key, list) -> remove(list, id));
+            }
+        }
+    }
+
+    private static void addGrams(Set<Long> grams, String word) {
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            grams.add(((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2));
+        }
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] insert(long[] list, long id) {
+        int position = Arrays.binarySearch(list, id);
+        if (position >= 0) {
+            return list;
+        }
+        position = -position - 1;
+        long[] result = new long[list.length + 1];
+        System.arraycopy(list, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(list, position, result, position + 1, list.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] list, long id) {
+        int position = Arrays.binarySearch(list, id);
+        if (position < 0) {
+            return list;
+        }
+        if (list.length == 1) {
+            return null;
+        }
+        long[] result = new long[list.length - 1];
+        System.arraycopy(list, 0, result, 0, position);
+        System.arraycopy(list, position + 1, result, position, list.length - position - 1);
+        return result;
+    }
+
+    private record Match(long id, int score) {
+    }
+
+    private record Document(String name, String description, boolean available) {
+
+        static Document of(String name, String description, boolean available) {
+            return new Document(name == null ? "" : name.toLowerCase(Locale.ROOT),
+                    description == null ? "" : description.toLowerCase(Locale.ROOT), available);
+        }
+
+        Set<Long> grams() {
+            Set<Long> grams = new HashSet<>();
+            for (String word : ItemSearchTokenizer.words(name)) {
+                addGrams(grams, word);
+            }
+            for (String word : ItemSearchTokenizer.words(description)) {
+                addGrams(grams, word);
+            }
+            return grams;
+        }
+
+        /**
+         * Совпадение в названии весит больше, чем в описании, а с начала слова — больше, чем в середине.
+         */
+        int score(String word) {
+            return score(name, word, 4) + score(description, word, 2);
+        }
+
+        private static int score(String text, String word, int weight) {
+            int position = text.indexOf(word);
+            if (position < 0) {
+                return 0;
+            }
+            boolean wordStart = position == 0 || !Character.isLetterOrDigit(text.charAt(position - 1));
+            return wordStart ? weight : weight / 2;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.InvalidPageException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Подсказки по названиям доступных вещей для ввода с автодополнением.
+ *
+ * <p>Для каждого слова названия в отсортированном словаре хранится ключ «остаток названия с этого слова + id»,
+ * поэтому подсказки по префиксу — это проход по диапазону ключей, который заканчивается после {@code limit}
+ * вещей и не зависит от размера каталога. Словарь читается без блокировок, изменения применяются после коммита,
+ * а при старте он строится заново по таблице {@code items}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemNameAutocomplete {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NavigableMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * @return не больше {@code limit} вещей, одно из слов названия которых начинается с {@code prefix}, в порядке
+     * остатка названия с этого слова: название, которое является началом другого, идёт перед ним
+     * @throws InvalidPageException если {@code limit} не положительный
+     */
+    public List<ItemSuggestionDto> suggest(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new InvalidPageException("Invalid suggestions size: " + limit);
+        }
+        String from = normalize(prefix).stripLeading();
+        if (from.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.min(limit, MAX_SUGGESTIONS);
+        Set<Suggestion> found = new LinkedHashSet<>();
+        for (Suggestion suggestion : entries.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            found.add(suggestion);
+            if (found.size() >= size) {
+                break;
+            }
+        }
+        List<ItemSuggestionDto> result = new ArrayList<>(found.size());
+        for (Suggestion suggestion : found) {
+            result.add(new ItemSuggestionDto(suggestion.id(), suggestion.name()));
+        }
+        return result;
+    }
+
+    public void index(Item item) {
+        long id = item.getId();
+        String name = Boolean.TRUE.equals(item.getAvailable()) ? item.getName() : null;
+        AfterCommit.run(() -> put(id, name));
+    }
+
+    /**
+     * Убирает из подсказок вещи, удалённые каскадом в базе, после коммита транзакции.
+     */
+    public void remove(Collection<Long> itemIds) {
+        List<Long> ids = List.copyOf(itemIds);
+        AfterCommit.run(() -> ids.forEach(id -> put(id, null)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        jdbcTemplate.query("SELECT item_id, name FROM items WHERE is_available", rs -> {
+            put(rs.getLong("item_id"), rs.getString("name"));
+        });
+        log.info("Autocomplete index built for {} items", names.size());
+    }
+
+    /**
+     * @param name название вещи или {@code null}, если вещь не должна попадать в подсказки
+     */
+    private synchronized void put(long id, String name) {
+        String previous = name == null ? names.remove(id) : names.put(id, name);
+        if (previous != null) {
+            for (String key : keys(id, previous)) {
+                entries.remove(key);
+            }
+        }
+        if (name != null) {
+            Suggestion suggestion = new Suggestion(id, name);
+            for (String key : keys(id, name)) {
+                entries.put(key, suggestion);
+            }
+        }
+    }
+
+    private static List<String> keys(long id, String name) {
+        String text = normalize(name);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(text.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(text.substring(i) + ID_SEPARATOR + id);
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record Suggestion(long id, String name) {
+    }
+}
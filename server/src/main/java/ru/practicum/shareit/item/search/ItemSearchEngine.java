@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по тексту в названии и описании.
+ * Реализация выбирается свойством {@code shareit.search.engine}.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * @param window период, в котором у найденных вещей нет подтверждённых бронирований, или {@code null}
+     * @return страница найденных доступных вещей, более релевантные — первыми
+     */
+    List<Item> search(String text, BookingWindow window, int from, int size);
+
+    /**
+     * Поиск с опечатками: слово запроса совпадает и со словами, похожими на него не меньше чем на {@code similarity}.
+     * Движки без словаря ищут как обычно.
+     */
+    default List<Item> searchSimilar(String text, double similarity, BookingWindow window, int from, int size) {
+        return search(text, window, from, size);
+    }
+
+    /**
+     * Вызывается после создания или изменения вещи в той же транзакции.
+     */
+    void index(Item item);
+
+    /**
+     * Вызывается после удаления вещей каскадом в базе, мимо Hibernate. Движкам, которые хранят индекс в таблицах
+     * со ссылкой на {@code items}, делать ничего не нужно.
+     */
+    default void remove(Collection<Long> itemIds) {
+    }
+}
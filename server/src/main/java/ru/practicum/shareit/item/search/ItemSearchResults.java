@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class ItemSearchResults {
+
+    private ItemSearchResults() {
+    }
+
+    /**
+     * Загружает вещи одним запросом и возвращает их в порядке переданных id.
+     */
+    static List<Item> load(ItemRepository itemRepository, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
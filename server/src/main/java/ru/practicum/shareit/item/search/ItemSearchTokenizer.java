@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Разбивает текст на слова в нижнем регистре. Для индекса, кроме самих слов, сохраняются их префиксы
+ * длиной от {@link #MIN_PREFIX_LENGTH} символов, так что поиск по началу слова — это точное совпадение токена.
+ */
+public final class ItemSearchTokenizer {
+
+    public static final int MIN_TOKEN_LENGTH = 2;
+
+    public static final int MIN_PREFIX_LENGTH = 3;
+
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_WORD_WEIGHT = 4;
+    private static final int NAME_PREFIX_WEIGHT = 2;
+    private static final int DESCRIPTION_WORD_WEIGHT = 2;
+    private static final int DESCRIPTION_PREFIX_WEIGHT = 1;
+
+    private ItemSearchTokenizer() {
+    }
+
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> word.length() >= MIN_TOKEN_LENGTH)
+                .map(word -> word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * @return токены вещи с весами: слово весит больше префикса, название — больше описания
+     */
+    public static Map<String, Integer> indexTokens(String name, String description) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        addTokens(tokens, name, NAME_WORD_WEIGHT, NAME_PREFIX_WEIGHT);
+        addTokens(tokens, description, DESCRIPTION_WORD_WEIGHT, DESCRIPTION_PREFIX_WEIGHT);
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int wordWeight, int prefixWeight) {
+        for (String word : words(text)) {
+            for (int length = MIN_PREFIX_LENGTH; length < word.length(); length++) {
+                tokens.merge(word.substring(0, length), prefixWeight, Math::max);
+            }
+            tokens.merge(word, wordWeight, Math::max);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.OffsetPageRequest;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Прежний поиск подстрокой через {@code like '%text%'}: не использует индексы, без ранжирования.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like")
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> search(String text, BookingWindow window, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        if (window == null) {
+            return itemRepository.searchByDescriptionOrName(text, page);
+        }
+        return itemRepository.searchNotBookedByDescriptionOrName(text, BookingStatus.APPROVED, window.start(),
+                window.end(), page);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+}
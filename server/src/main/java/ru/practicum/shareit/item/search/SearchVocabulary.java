@@ -0,0 +1,252 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.InvalidSimilarityException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Словарь слов вещей и запросов с триграммами для поиска с опечатками. Похожесть слов считается как в pg_trgm:
+ * число общих триграмм, делённое на число триграмм обоих слов вместе. Таблица триграмм строится по словарю,
+ * а не по строкам вещей, поэтому подбор похожих слов не зависит от числа вещей.
+ *
+ * <p>Новые слова вставляются в транзакции изменения одним пакетом на пачку слов. Словарь общий, поэтому вставка
+ * пропускает уже существующие строки ({@code ON CONFLICT DO NOTHING} в PostgreSQL, {@code MERGE} в H2), и
+ * параллельные изменения с одинаковыми новыми словами не откатывают друг друга, а ждут коммита первого из них;
+ * строки вставляются по порядку, чтобы транзакции не ждали друг друга по кругу. Слова из словаря не удаляются,
+ * лишнее слово просто ничего не находит.
+ */
+@Component
+@Slf4j
+public class SearchVocabulary {
+
+    private static final int MAX_VARIANTS = 20;
+
+    /**
+     * Для каждого слова запроса похожие слова ищутся отдельным запросом, поэтому слова сверх этого числа отбрасываются.
+     */
+    public static final int MAX_QUERY_WORDS = 10;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String KNOWN_WORDS_SQL = "SELECT word FROM search_words WHERE word IN (:words)";
+
+    private static final String INSERT_WORD_SQL = "INSERT INTO search_words (word, trigram_count)" +
+            " VALUES (:word, :trigramCount) ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_TRIGRAM_SQL = "INSERT INTO search_word_trigrams (trigram, word)" +
+            " VALUES (:trigram, :word) ON CONFLICT DO NOTHING";
+
+    private static final String MERGE_WORD_SQL = "MERGE INTO search_words (word, trigram_count) KEY (word)" +
+            " VALUES (:word, :trigramCount)";
+
+    private static final String MERGE_TRIGRAM_SQL = "MERGE INTO search_word_trigrams (trigram, word)" +
+            " KEY (trigram, word) VALUES (:trigram, :word)";
+
+    private static final String SIMILAR_WORDS_SQL = "SELECT w.word, w.trigram_count, COUNT(*) AS shared" +
+            " FROM search_word_trigrams t" +
+            " JOIN search_words w ON w.word = t.word" +
+            " WHERE t.trigram IN (:trigrams) AND w.trigram_count BETWEEN :minCount AND :maxCount" +
+            " GROUP BY w.word, w.trigram_count" +
+            " HAVING COUNT(*) >= :minShared";
+
+    private static final String EMPTY_SQL = "SELECT NOT EXISTS (SELECT 1 FROM search_words)";
+
+    private static final String TEXTS_SQL = "SELECT name FROM items UNION ALL SELECT description FROM items" +
+            " UNION ALL SELECT description FROM item_requests";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final String insertWordSql;
+
+    private final String insertTrigramSql;
+
+    public SearchVocabulary(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean h2 = "H2".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                DatabaseMetaData::getDatabaseProductName));
+        this.insertWordSql = h2 ? MERGE_WORD_SQL : INSERT_WORD_SQL;
+        this.insertTrigramSql = h2 ? MERGE_TRIGRAM_SQL : INSERT_TRIGRAM_SQL;
+    }
+
+    /**
+     * Вызывается в транзакции, сохранившей текст со словами {@code words}.
+     */
+    public void add(Collection<String> words) {
+        List<String> list = new ArrayList<>(new TreeSet<>(words));
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            List<String> batch = list.subList(from, Math.min(from + BATCH_SIZE, list.size()));
+            Set<String> known = new HashSet<>(jdbcTemplate.queryForList(KNOWN_WORDS_SQL,
+                    new MapSqlParameterSource("words", batch), String.class));
+            List<String> added = batch.stream()
+                    .filter(word -> !known.contains(word))
+                    .toList();
+            if (!added.isEmpty()) {
+                insert(added);
+            }
+        }
+    }
+
+    /**
+     * @throws InvalidSimilarityException если {@code similarity} не в промежутке (0, 1]: при нуле похожим
+     *                                    оказалось бы любое слово словаря
+     */
+    public static void checkSimilarity(double similarity) {
+        if (!(similarity > 0 && similarity <= 1)) {
+            throw new InvalidSimilarityException("Invalid similarity: " + similarity);
+        }
+    }
+
+    /**
+     * @return слова запроса, для которых ищутся похожие: не больше {@value #MAX_QUERY_WORDS} первых слов текста
+     */
+    public static List<String> queryWords(String text) {
+        List<String> words = ItemSearchTokenizer.words(text);
+        return words.size() > MAX_QUERY_WORDS ? words.subList(0, MAX_QUERY_WORDS) : words;
+    }
+
+    /**
+     * Заполняет пустой словарь по уже сохранённым вещам и запросам.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void fillIfEmpty() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().queryForObject(EMPTY_SQL, Boolean.class))) {
+            return;
+        }
+        Set<String> words = new HashSet<>();
+        jdbcTemplate.getJdbcTemplate().query(TEXTS_SQL, rs -> {
+            words.addAll(ItemSearchTokenizer.words(rs.getString(1)));
+        });
+        add(words);
+        if (!words.isEmpty()) {
+            log.info("Search vocabulary filled with {} words", words.size());
+        }
+    }
+
+    /**
+     * @param words слова запроса из {@link #queryWords}; слова сверх {@value #MAX_QUERY_WORDS} отбрасываются
+     * @return для каждого слова запроса (по номеру) само слово с похожестью 1 и до {@value #MAX_VARIANTS}
+     * слов словаря, похожих на него не меньше чем на {@code similarity}; токены не повторяются
+     */
+    public List<Variant> variants(List<String> words, double similarity) {
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+        // токен может быть похож на несколько слов запроса, он относится к самому похожему
+        Map<String, Variant> variants = new LinkedHashMap<>();
+        for (int wordNo = 0; wordNo < words.size(); wordNo++) {
+            String word = words.get(wordNo);
+            variants.put(word, new Variant(word, wordNo, 1.0));
+        }
+        for (int wordNo = 0; wordNo < words.size(); wordNo++) {
+            for (Variant variant : similarWords(words.get(wordNo), wordNo, similarity)) {
+                variants.merge(variant.token(), variant,
+                        (current, candidate) -> candidate.similarity() > current.similarity() ? candidate : current);
+            }
+        }
+        return List.copyOf(variants.values());
+    }
+
+    /**
+     * Подставляет варианты в запрос по таблице токенов {@code t}: токены передаются списком {@code :tokens}
+     * для условия {@code IN} по индексу, а номер слова запроса и похожесть токена — выражениями {@code CASE},
+     * которые заменяют {@code %1$s} и {@code %2$s} в тексте запроса. Группировать по номеру слова нужно
+     * через псевдоним столбца: параметры в {@code GROUP BY} для Postgres — уже другое выражение.
+     */
+    public static String bind(String sql, List<Variant> variants, MapSqlParameterSource parameters) {
+        StringBuilder wordNo = new StringBuilder("CASE t.token");
+        StringBuilder similarity = new StringBuilder("CASE t.token");
+        for (int i = 0; i < variants.size(); i++) {
+            Variant variant = variants.get(i);
+            parameters.addValue("token" + i, variant.token())
+                    .addValue("wordNo" + i, variant.wordNo())
+                    .addValue("similarity" + i, variant.similarity());
+            wordNo.append(" WHEN :token").append(i).append(" THEN :wordNo").append(i);
+            similarity.append(" WHEN :token").append(i).append(" THEN CAST(:similarity").append(i)
+                    .append(" AS DOUBLE PRECISION)");
+        }
+        parameters.addValue("tokens", variants.stream().map(Variant::token).toList());
+        return sql.formatted(wordNo.append(" END"), similarity.append(" END"));
+    }
+
+    private List<Variant> similarWords(String word, int wordNo, double similarity) {
+        Set<String> trigrams = trigrams(word);
+        int count = trigrams.size();
+        // при похожести s у слова не меньше s * count общих триграмм, а всего триграмм от s * count до count / s
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("trigrams", trigrams)
+                .addValue("minCount", (int) Math.ceil(similarity * count))
+                .addValue("maxCount", similarity > 0 ? (int) Math.floor(count / similarity) : Integer.MAX_VALUE)
+                .addValue("minShared", Math.max(1, (int) Math.ceil(similarity * count)));
+        return jdbcTemplate.query(SIMILAR_WORDS_SQL, parameters, (rs, rowNum) -> {
+                    int shared = rs.getInt("shared");
+                    return new Variant(rs.getString("word"), wordNo,
+                            (double) shared / (count + rs.getInt("trigram_count") - shared));
+                }).stream()
+                .filter(variant -> variant.similarity() >= similarity)
+                .sorted(Comparator.comparingDouble(Variant::similarity).reversed().thenComparing(Variant::token))
+                .limit(MAX_VARIANTS)
+                .toList();
+    }
+
+    /**
+     * Вставляет слова и их триграммы двумя пакетами; слова приходят отсортированными, триграммы сортируются.
+     */
+    private void insert(List<String> words) {
+        List<MapSqlParameterSource> wordRows = new ArrayList<>(words.size());
+        List<String[]> trigramRows = new ArrayList<>();
+        for (String word : words) {
+            Set<String> trigrams = trigrams(word);
+            wordRows.add(new MapSqlParameterSource()
+                    .addValue("word", word)
+                    .addValue("trigramCount", trigrams.size()));
+            for (String trigram : trigrams) {
+                trigramRows.add(new String[]{trigram, word});
+            }
+        }
+        trigramRows.sort(Comparator.comparing((String[] row) -> row[0]).thenComparing(row -> row[1]));
+        jdbcTemplate.batchUpdate(insertWordSql, wordRows.toArray(MapSqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(insertTrigramSql, trigramRows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("trigram", row[0])
+                        .addValue("word", row[1]))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Триграммы слова, дополненного двумя пробелами в начале и одним в конце, как в pg_trgm: так начало слова
+     * весит больше, а у слов из двух букв тоже есть триграммы.
+     */
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    public record Variant(String token, int wordNo, double similarity) {
+    }
+}
@@ -2,17 +2,20 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateResponseDto;
 import ru.practicum.shareit.request.dto.ItemRequestGetDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -42,13 +45,28 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestGetDto> getAllItemRequests() {
+    public Collection<ItemRequestGetDto> getAllItemRequests(@RequestParam(value = "from", defaultValue = "0") int from,
+                                                            @RequestParam(value = "size", defaultValue = "10") int size,
+                                                            @RequestParam(value = "cursorCreated", required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreated,
+                                                            @RequestParam(value = "cursorId", required = false) Long cursorId) {
         log.info("Getting all item requests started");
-        Collection<ItemRequestGetDto> result = itemRequestService.getAllItemRequests();
+        Collection<ItemRequestGetDto> result = itemRequestService.getAllItemRequests(from, size, cursorCreated, cursorId);
         log.info("Getting all item requests finished");
         return result;
     }
 
+    @GetMapping("/search")
+    public Collection<ItemRequestGetDto> searchItemRequests(@RequestParam(value = "text") String text,
+                                                            @RequestParam(value = "similarity", defaultValue = "0.3") double similarity,
+                                                            @RequestParam(value = "from", defaultValue = "0") int from,
+                                                            @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Searching item requests with text {} started", text);
+        Collection<ItemRequestGetDto> result = itemRequestService.searchItemRequests(text, similarity, from, size);
+        log.info("Searching item requests with text {} finished", text);
+        return result;
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestGetDto getItemRequest(@PathVariable long requestId) {
         log.info("Getting item request {} started", requestId);
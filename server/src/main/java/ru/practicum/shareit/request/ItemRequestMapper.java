@@ -0,0 +1,29 @@
+package ru.practicum.shareit.request;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestCreateResponseDto;
+import ru.practicum.shareit.request.dto.ItemRequestGetDto;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ItemRequestMapper {
+
+    /**
+     * Вещи по запросу заполняются сервисом отдельно.
+     */
+    @Mapping(target = "items", ignore = true)
+    ItemRequestGetDto toItemRequestGetDto(ItemRequest itemRequest);
+
+    List<ItemRequestGetDto> toItemRequestGetDtos(Collection<ItemRequest> itemRequests);
+
+    ItemRequestCreateResponseDto toItemRequestCreateResponseDto(ItemRequest itemRequest);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "requester", ignore = true)
+    ItemRequest toItemRequest(ItemRequestCreateDto itemRequestDto);
+}
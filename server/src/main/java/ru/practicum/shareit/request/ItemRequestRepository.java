@@ -1,14 +1,22 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    @Query("SELECT ir FROM ItemRequest ir ORDER BY ir.created DESC")
-    Collection<ItemRequest> findAllSortedByCreatedDesc();
+    @Query("SELECT ir FROM ItemRequest ir ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findAllSortedByCreatedDesc(Pageable pageable);
+
+    @Query("SELECT ir FROM ItemRequest ir" +
+            " WHERE (ir.created, ir.id) < (:cursorCreated, :cursorId)" +
+            " ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findAllSortedByCreatedDescBeforeCursor(LocalDateTime cursorCreated, Long cursorId, Pageable pageable);
 
     Collection<ItemRequest> findByRequesterId(Long requesterId);
 }
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.search.ItemSearchTokenizer;
+import ru.practicum.shareit.item.search.SearchVocabulary;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Поиск запросов по описанию с опечатками: слова описания хранятся в {@code item_request_search_tokens},
+ * слова запроса сопоставляются с похожими словами из {@link SearchVocabulary}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemRequestSearchIndex {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SEARCH_SQL = "SELECT s.item_request_id FROM (" +
+            "SELECT t.item_request_id, %1$s AS word_no, MAX(%2$s) AS score" +
+            " FROM item_request_search_tokens t" +
+            " WHERE t.token IN (:tokens)" +
+            " GROUP BY t.item_request_id, word_no) s" +
+            " GROUP BY s.item_request_id" +
+            " HAVING COUNT(*) = :wordsCount" +
+            " ORDER BY SUM(s.score) DESC, s.item_request_id DESC" +
+            " LIMIT :size OFFSET :from";
+
+    private static final String INSERT_SQL = "INSERT INTO item_request_search_tokens (item_request_id, token)" +
+            " VALUES (:itemRequestId, :token)";
+
+    private static final String NOT_INDEXED_SQL = "SELECT r.item_request_id, r.description FROM item_requests r" +
+            " WHERE NOT EXISTS (SELECT 1 FROM item_request_search_tokens t WHERE t.item_request_id = r.item_request_id)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final SearchVocabulary vocabulary;
+
+    /**
+     * @return id найденных запросов, более похожие — первыми, при равной похожести — более новые
+     */
+    @Transactional(readOnly = true)
+    public List<Long> search(String text, double similarity, int from, int size) {
+        List<String> words = SearchVocabulary.queryWords(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("wordsCount", words.size())
+                .addValue("size", size)
+                .addValue("from", from);
+        String sql = SearchVocabulary.bind(SEARCH_SQL, vocabulary.variants(words, similarity), parameters);
+        return jdbcTemplate.queryForList(sql, parameters, Long.class);
+    }
+
+    /**
+     * Вызывается после создания запроса в той же транзакции; описание запроса не меняется.
+     */
+    @Transactional
+    public void index(ItemRequest itemRequest) {
+        List<String> words = ItemSearchTokenizer.words(itemRequest.getDescription());
+        insertTokens(tokenParameters(itemRequest.getId(), words));
+        vocabulary.add(words);
+    }
+
+    /**
+     * Индексирует запросы, для которых ещё нет токенов, например созданные до появления индекса.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void indexMissing() {
+        List<MapSqlParameterSource> batch = new ArrayList<>();
+        Set<String> words = new HashSet<>();
+        int[] indexed = {0};
+        jdbcTemplate.query(NOT_INDEXED_SQL, rs -> {
+            List<String> requestWords = ItemSearchTokenizer.words(rs.getString("description"));
+            batch.addAll(tokenParameters(rs.getLong("item_request_id"), requestWords));
+            words.addAll(requestWords);
+            indexed[0]++;
+            if (batch.size() >= BATCH_SIZE) {
+                insertTokens(batch);
+                batch.clear();
+            }
+        });
+        insertTokens(batch);
+        vocabulary.add(words);
+        if (indexed[0] > 0) {
+            log.info("Search tokens created for {} item requests", indexed[0]);
+        }
+    }
+
+    private static List<MapSqlParameterSource> tokenParameters(long itemRequestId, List<String> words) {
+        return words.stream()
+                .map(word -> new MapSqlParameterSource()
+                        .addValue("itemRequestId", itemRequestId)
+                        .addValue("token", word))
+                .toList();
+    }
+
+    private void insertTokens(List<MapSqlParameterSource> tokens) {
+        if (!tokens.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, tokens.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateResponseDto;
 import ru.practicum.shareit.request.dto.ItemRequestGetDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemRequestService {
@@ -12,7 +13,17 @@ public interface ItemRequestService {
 
     Collection<ItemRequestGetDto> getAllUserItemRequests(long userId);
 
-    Collection<ItemRequestGetDto> getAllItemRequests();
+    /**
+     * Лента запросов от новых к старым. Если передан курсор (created и id последнего запроса
+     * предыдущей страницы), страница начинается сразу после него.
+     */
+    Collection<ItemRequestGetDto> getAllItemRequests(int from, int size, LocalDateTime cursorCreated, Long cursorId);
 
     ItemRequestGetDto getItemRequest(long requestId);
+
+    /**
+     * Поиск запросов по словам описания с опечатками: слово запроса совпадает со словами,
+     * похожими на него не меньше чем на {@code similarity} (от 0 до 1).
+     */
+    Collection<ItemRequestGetDto> searchItemRequests(String text, double similarity, int from, int size);
 }
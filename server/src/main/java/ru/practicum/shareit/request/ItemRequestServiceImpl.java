@@ -2,20 +2,29 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.OffsetPageRequest;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.search.SearchVocabulary;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateResponseDto;
 import ru.practicum.shareit.request.dto.ItemRequestGetDto;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -23,25 +32,34 @@ import java.util.Set;
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    private static final int REQUEST_IDS_BATCH_SIZE = 1000;
+
     private final ItemRequestRepository itemRequestRepository;
 
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
 
-    private final ModelMapper mapper;
+    private final ItemRequestMapper mapper;
+
+    private final ItemMapper itemMapper;
+
+    private final ItemRequestSearchIndex searchIndex;
 
     @Override
+    @Transactional
     public ItemRequestCreateResponseDto createItemRequest(ItemRequestCreateDto itemRequestDto, long userId) {
         log.info("Started creating item request: {}", itemRequestDto);
-        ItemRequest itemRequest = mapper.map(itemRequestDto, ItemRequest.class);
-        LocalDateTime now = LocalDateTime.now();
+        ItemRequest itemRequest = mapper.toItemRequest(itemRequestDto);
+        // точность TIMESTAMP в БД — микросекунды, иначе created из ответа не совпадёт с сохранённым курсором
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         itemRequest.setCreated(now);
         itemRequest.setRequester(userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with id: " + userId + " not found")));
         ItemRequest result = itemRequestRepository.save(itemRequest);
+        searchIndex.index(result);
         log.info("Finished creating item request: {}", result);
-        return mapper.map(result, ItemRequestCreateResponseDto.class);
+        return mapper.toItemRequestCreateResponseDto(result);
     }
 
     @Override
@@ -58,39 +76,76 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public Collection<ItemRequestGetDto> getAllItemRequests() {
-        log.info("Started getting all item requests");
-        Collection<ItemRequest> requests = itemRequestRepository.findAllSortedByCreatedDesc();
+    public Collection<ItemRequestGetDto> getAllItemRequests(int from, int size, LocalDateTime cursorCreated, Long cursorId) {
+        log.info("Started getting all item requests, from: {}, size: {}, cursor: {}/{}", from, size, cursorCreated, cursorId);
+        Pageable page = OffsetPageRequest.of(from, size);
+        Collection<ItemRequest> requests = cursorCreated == null || cursorId == null
+                ? itemRequestRepository.findAllSortedByCreatedDesc(page)
+                : itemRequestRepository.findAllSortedByCreatedDescBeforeCursor(cursorCreated, cursorId, page);
         Collection<ItemRequestGetDto> userRequestsDto = setRequestsResponses(requests);
         log.info("Finished getting all item requests");
         return userRequestsDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemRequestGetDto> searchItemRequests(String text, double similarity, int from, int size) {
+        OffsetPageRequest.of(from, size);
+        SearchVocabulary.checkSimilarity(similarity);
+        log.info("Started searching item requests by text {}, similarity: {}, from: {}, size: {}", text, similarity, from, size);
+        List<Long> ids = searchIndex.search(text, similarity, from, size);
+        Map<Long, ItemRequest> requestsById = new HashMap<>();
+        for (ItemRequest request : itemRequestRepository.findAllById(ids)) {
+            requestsById.put(request.getId(), request);
+        }
+        List<ItemRequest> requests = ids.stream()
+                .map(requestsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Collection<ItemRequestGetDto> result = setRequestsResponses(requests);
+        log.info("Finished searching item requests by text {}", text);
+        return result;
+    }
+
     private Collection<ItemRequestGetDto> setRequestsResponses(Collection<ItemRequest> requests) {
-        Collection<ItemRequestGetDto> userRequestsDto = mapper.map(requests, new TypeToken<Collection<ItemRequestGetDto>>() {
-        }.getType());
+        Collection<ItemRequestGetDto> userRequestsDto = mapper.toItemRequestGetDtos(requests);
+        Map<Long, Set<Item>> itemsByRequestIds = findItemsByRequestIds(requests.stream()
+                .map(ItemRequest::getId)
+                .toList());
 
         for (ItemRequestGetDto userRequestDto : userRequestsDto) {
-            Set<Item> itemsByRequestId = itemRepository.findAllByRequestId(userRequestDto.getId());
+            Set<Item> itemsByRequestId = itemsByRequestIds.getOrDefault(userRequestDto.getId(), Set.of());
 
-            Set<ItemForRequestDto> itemsByRequestIdDto = mapper.map(itemsByRequestId,
-                    new TypeToken<Set<ItemForRequestDto>>() {
-                    }.getType());
+            Set<ItemForRequestDto> itemsByRequestIdDto = itemMapper.toItemForRequestDtos(itemsByRequestId);
 
             userRequestDto.setItems(itemsByRequestIdDto);
         }
         return userRequestsDto;
     }
 
+    /**
+     * Загружает ответы на запросы одним запросом {@code IN} на каждые {@link #REQUEST_IDS_BATCH_SIZE} id
+     * и группирует их по id запроса.
+     */
+    private Map<Long, Set<Item>> findItemsByRequestIds(List<Long> requestIds) {
+        Map<Long, Set<Item>> itemsByRequestIds = new HashMap<>();
+        for (int from = 0; from < requestIds.size(); from += REQUEST_IDS_BATCH_SIZE) {
+            List<Long> batch = requestIds.subList(from, Math.min(from + REQUEST_IDS_BATCH_SIZE, requestIds.size()));
+            for (Item item : itemRepository.findAllByRequestIdIn(batch)) {
+                itemsByRequestIds.computeIfAbsent(item.getRequest().getId(), id -> new HashSet<>()).add(item);
+            }
+        }
+        return itemsByRequestIds;
+    }
+
     @Override
     public ItemRequestGetDto getItemRequest(long requestId) {
         log.info("Started getting item request: {}", requestId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new UserNotFoundException("Item request with id: " + requestId + " not found"));
-        ItemRequestGetDto itemRequestGetDto = mapper.map(itemRequest, ItemRequestGetDto.class);
-        Set<Item> itemsByRequestId = itemRepository.findAllByRequestId(requestId);
-        Set<ItemForRequestDto> itemsByRequestIdDto = mapper.map(itemsByRequestId, new TypeToken<Set<ItemForRequestDto>>() {
-        }.getType());
+        ItemRequestGetDto itemRequestGetDto = mapper.toItemRequestGetDto(itemRequest);
+        Set<Item> itemsByRequestId = findItemsByRequestIds(List.of(requestId)).getOrDefault(requestId, Set.of());
+        Set<ItemForRequestDto> itemsByRequestIdDto = itemMapper.toItemForRequestDtos(itemsByRequestId);
         itemRequestGetDto.setItems(itemsByRequestIdDto);
 
         log.info("Finished getting item request: {}", itemRequestGetDto);
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserFullDto;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserMapper {
+
+    UserFullDto toUserFullDto(User user);
+
+    List<UserFullDto> toUserFullDtos(Collection<User> users);
+
+    @Mapping(target = "id", ignore = true)
+    User toUser(UserCreateDto userDto);
+}
@@ -1,6 +1,17 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * Проверка пользователя есть почти в каждом запросе, поэтому её результат кэшируется (профиль cache);
+     * кэш сбрасывается при любом изменении таблицы users.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
 }
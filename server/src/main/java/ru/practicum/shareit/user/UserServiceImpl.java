@@ -1,16 +1,28 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.booking.ItemBookingReferences;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameAutocomplete;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Сервис для работы с пользователями
@@ -24,17 +36,32 @@ import java.util.Collection;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
-    private final ModelMapper mapper;
+    private final UserMapper mapper;
 
     private final UserRepository repository;
 
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ItemDetailsCache itemDetailsCache;
+
+    private final ItemBookingIntervals itemBookingIntervals;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemBookingReferences itemBookingReferences;
+
+    private final ItemRepository itemRepository;
+
+    private final ItemNameAutocomplete itemNameAutocomplete;
+
+    private final ItemSearchEngine itemSearchEngine;
+
     @Override
     public Collection<UserFullDto> getAll() {
         log.info("Starting fetching all users");
         Collection<User> result = repository.findAll();
         log.info("Finished fetching all users");
-        return mapper.map(result, new TypeToken<Collection<UserFullDto>>() {
-        }.getType());
+        return mapper.toUserFullDtos(result);
     }
 
     @Override
@@ -43,16 +70,16 @@ public class UserServiceImpl implements UserService {
         User result = repository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         log.info("User with id {} was fetched", result.getId());
-        return mapper.map(result, UserFullDto.class);
+        return mapper.toUserFullDto(result);
     }
 
     @Override
     public UserFullDto create(UserCreateDto userDto) {
         log.info("Starting creating user");
-        User user = mapper.map(userDto, User.class);
+        User user = mapper.toUser(userDto);
         User userSaved = repository.save(user);
         log.info("User created with id {}", userSaved.getId());
-        return mapper.map(userSaved, UserFullDto.class);
+        return mapper.toUserFullDto(userSaved);
     }
 
     @Override
@@ -69,16 +96,35 @@ public class UserServiceImpl implements UserService {
 
         User userSaved = repository.save(user);
         log.info("User with id {} was updated", userSaved.getId());
-        return mapper.map(userSaved, UserFullDto.class);
+        return mapper.toUserFullDto(userSaved);
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         if (!repository.existsById(id)) {
             throw new UserNotFoundException("User not found");
         }
         log.info("Starting deleting user with id: {}", id);
+        List<Long> itemIds = itemRepository.findIdsByUserId(id);
+        // бронирования пользователя тоже удаляются каскадом, а ссылки вещей на них обнуляются, поэтому вещи,
+        // которые он бронировал, блокируются до удаления, а их последнее и следующее бронирование ищутся заново
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerIdAndStatus(id, BookingStatus.APPROVED);
+        if (!bookedItemIds.isEmpty()) {
+            itemRepository.findAllByIdInForUpdate(bookedItemIds);
+        }
         repository.deleteById(id);
+        repository.flush();
+        // вещи и запросы пользователя удаляются каскадом в базе, мимо Hibernate, поэтому их нет смысла
+        // искать в кэше второго уровня по одной: удаление пользователя редкое, регионы сбрасываются целиком
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Item.class);
+        cache.evict(ItemRequest.class);
+        itemBookingReferences.onStatusesChanged(bookedItemIds);
+        itemDetailsCache.evictAll();
+        itemBookingIntervals.evictAll();
+        itemNameAutocomplete.remove(itemIds);
+        itemSearchEngine.remove(itemIds);
         log.info("User with id {} was deleted", id);
     }
 }
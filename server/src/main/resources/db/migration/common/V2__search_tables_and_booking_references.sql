@@ -0,0 +1,48 @@
+-- всё, что добавлялось в schema.sql после исходной схемы (V1): база, созданная прежним schema.sql, получает
+-- версию 1 и начинает с этой миграции, а IF NOT EXISTS пропускает то, что в ней уже есть
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT REFERENCES bookings (booking_id) ON DELETE SET NULL;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT REFERENCES bookings (booking_id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created_id ON item_requests (created DESC, item_request_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start ON bookings (item_id, start_date DESC, booking_id DESC);
+
+CREATE TABLE IF NOT EXISTS item_search_tokens
+(
+    item_id BIGINT NOT NULL,
+    token VARCHAR(64) NOT NULL,
+    weight INTEGER NOT NULL,
+    CONSTRAINT pk_item_search_tokens PRIMARY KEY (item_id, token),
+    CONSTRAINT fk_item_search_token FOREIGN KEY (item_id) REFERENCES items (item_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_search_tokens_token ON item_search_tokens (token, item_id);
+
+CREATE TABLE IF NOT EXISTS search_words
+(
+    word VARCHAR(64) NOT NULL,
+    trigram_count INTEGER NOT NULL,
+    CONSTRAINT pk_search_words PRIMARY KEY (word)
+);
+
+CREATE TABLE IF NOT EXISTS search_word_trigrams
+(
+    trigram VARCHAR(3) NOT NULL,
+    word VARCHAR(64) NOT NULL,
+    CONSTRAINT pk_search_word_trigrams PRIMARY KEY (trigram, word),
+    CONSTRAINT fk_search_word_trigram FOREIGN KEY (word) REFERENCES search_words (word) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS item_request_search_tokens
+(
+    item_request_id BIGINT NOT NULL,
+    token VARCHAR(64) NOT NULL,
+    CONSTRAINT pk_item_request_search_tokens PRIMARY KEY (item_request_id, token),
+    CONSTRAINT fk_item_request_search_token FOREIGN KEY (item_request_id) REFERENCES item_requests (item_request_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_request_search_tokens_token ON item_request_search_tokens (token, item_request_id);
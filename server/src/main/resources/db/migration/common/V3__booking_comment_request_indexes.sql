@@ -0,0 +1,5 @@
+CREATE INDEX idx_bookings_booker_id_start ON bookings (booker_id, start_date DESC, booking_id DESC);
+
+CREATE INDEX idx_comments_item_id ON comments (item_id, comment_id DESC);
+
+CREATE INDEX idx_item_requests_requester_id_created ON item_requests (requester_id, created DESC, item_request_id DESC);
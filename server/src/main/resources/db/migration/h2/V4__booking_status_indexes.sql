@@ -0,0 +1,4 @@
+-- в H2 нет частичных индексов, статус становится частью ключа
+CREATE INDEX idx_bookings_booker_id_status ON bookings (booker_id, status, start_date DESC, booking_id DESC);
+
+CREATE INDEX idx_bookings_item_id_status ON bookings (item_id, status, start_date DESC, booking_id DESC);
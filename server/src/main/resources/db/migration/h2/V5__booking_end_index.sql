@@ -0,0 +1 @@
+CREATE INDEX idx_bookings_item_id_end ON bookings (item_id, end_date, start_date);
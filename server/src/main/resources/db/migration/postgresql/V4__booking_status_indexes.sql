@@ -0,0 +1,8 @@
+CREATE INDEX idx_bookings_booker_id_waiting ON bookings (booker_id, start_date DESC, booking_id DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX idx_bookings_item_id_waiting ON bookings (item_id, start_date DESC, booking_id DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX idx_bookings_item_id_approved ON bookings (item_id, start_date, booking_id)
+    WHERE status = 'APPROVED';
@@ -0,0 +1,2 @@
+CREATE INDEX idx_bookings_item_id_end_active ON bookings (item_id, end_date) INCLUDE (start_date)
+    WHERE status IN ('WAITING', 'APPROVED');
@@ -0,0 +1,6 @@
+-- ссылки вещей на бронирования: по next_booking_id задание сдвига ссылок находит вещи с заданным следующим
+-- бронированием, не просматривая все вещи, а удаление бронирования находит вещи, ссылки которых нужно обнулить;
+-- H2 создаёт индексы по внешним ключам сам
+CREATE INDEX idx_items_next_booking_id ON items (next_booking_id) WHERE next_booking_id IS NOT NULL;
+
+CREATE INDEX idx_items_last_booking_id ON items (last_booking_id) WHERE last_booking_id IS NOT NULL;
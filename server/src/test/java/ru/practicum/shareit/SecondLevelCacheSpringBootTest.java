@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserFullDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit-cache")
+@ActiveProfiles({"test", "cache"})
+class SecondLevelCacheSpringBootTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void userIsReadFromCacheAndUpdated() {
+        UserFullDto user = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john.cache@gmail.com")
+                .build());
+        userService.getById(user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userService.getById(user.getId());
+
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        userService.update(UserUpdateDto.builder().name("Johnny").build(), user.getId());
+
+        assertEquals("Johnny", userService.getById(user.getId()).getName());
+        userService.delete(user.getId());
+    }
+
+    @Test
+    void deletingUserEvictsTheirItems() {
+        UserFullDto user = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas.cache@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(user.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        itemService.get(item.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        userService.delete(user.getId());
+
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+}
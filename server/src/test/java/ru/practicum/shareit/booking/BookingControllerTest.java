@@ -7,8 +7,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.exception.InvalidBookingIdsException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.user.User;
@@ -16,6 +18,7 @@ import ru.practicum.shareit.user.dto.UserFullDto;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -144,6 +147,38 @@ class BookingControllerTest {
         verify(bookingService).approve(userId, bookingId, true);
     }
 
+    @Test
+    void approveAll() throws Exception {
+        when(bookingService.approveAll(userId, List.of(bookingId, 2L), true)).thenReturn(List.of(
+                new BookingApprovalResultDto(bookingId, BookingApprovalResult.APPROVED),
+                new BookingApprovalResultDto(2L, BookingApprovalResult.NOT_FOUND)));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookingIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].result", is("APPROVED")))
+                .andExpect(jsonPath("$[1].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].result", is("NOT_FOUND")));
+        verify(bookingService).approveAll(userId, List.of(bookingId, 2L), true);
+    }
+
+    @Test
+    void approveAllWhenBookingIdsEmpty() throws Exception {
+        when(bookingService.approveAll(userId, List.of(), true))
+                .thenThrow(new InvalidBookingIdsException("From 1 to 100 booking ids are required"));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookingIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getWhenSuccess() throws Exception {
         when(bookingService.get(userId, bookingId)).thenReturn(bookingFullDto);
@@ -160,7 +195,7 @@ class BookingControllerTest {
     void getAllByUserIdWithState() throws Exception {
         String state = "all";
 
-        when(bookingService.getAllByUserIdWithState(userId, BookingStateParameter.from(state))).thenReturn(Collections.singletonList(bookingFullDto));
+        when(bookingService.getAllByUserIdWithState(userId, BookingStateParameter.from(state), 0, 10, null, null)).thenReturn(Collections.singletonList(bookingFullDto));
 
         mockMvc.perform(get("/bookings")
                         .header(USER_ID_HEADER, userId)
@@ -168,14 +203,14 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
-        verify(bookingService).getAllByUserIdWithState(userId, BookingStateParameter.from(state));
+        verify(bookingService).getAllByUserIdWithState(userId, BookingStateParameter.from(state), 0, 10, null, null);
     }
 
     @Test
     void getAllForUserItemsWithState() throws Exception {
         String state = "all";
 
-        when(bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.from(state))).thenReturn(Collections.singletonList(bookingFullDto));
+        when(bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.from(state), 0, 10, null, null)).thenReturn(Collections.singletonList(bookingFullDto));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(USER_ID_HEADER, userId)
@@ -183,6 +218,26 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
-        verify(bookingService).getAllForUserItemsWithState(userId, BookingStateParameter.from(state));
+        verify(bookingService).getAllForUserItemsWithState(userId, BookingStateParameter.from(state), 0, 10, null, null);
+    }
+
+    @Test
+    void getAllByUserIdWithStateAndCursor() throws Exception {
+        LocalDateTime cursorStart = LocalDateTime.of(2024, 1, 1, 12, 0);
+        long cursorId = 5L;
+
+        when(bookingService.getAllByUserIdWithState(userId, BookingStateParameter.PAST, 0, 20, cursorStart, cursorId))
+                .thenReturn(Collections.singletonList(bookingFullDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("state", "PAST")
+                        .param("from", "0")
+                        .param("size", "20")
+                        .param("cursorStart", cursorStart.toString())
+                        .param("cursorId", String.valueOf(cursorId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(bookingService).getAllByUserIdWithState(userId, BookingStateParameter.PAST, 0, 20, cursorStart, cursorId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapperImpl;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookingMapperTest {
+
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        itemMapper = new ItemMapperImpl(new ItemRequestMapperImpl());
+        bookingMapper = new BookingMapperImpl(itemMapper, new UserMapperImpl());
+
+        user = User.builder()
+                .id(1L)
+                .name("John")
+                .email("john@gmail.com")
+                .build();
+        item = Item.builder()
+                .id(2L)
+                .name("Laptop")
+                .description("Macbook Air")
+                .available(true)
+                .user(user)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Бронь должна отображаться в BookingFullDto вместе с вещью и арендатором")
+    void toBookingFullDto() {
+        Booking booking = Booking.builder()
+                .id(3L)
+                .start(LocalDateTime.now())
+                .end(LocalDateTime.now().plusDays(1))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        BookingFullDto result = bookingMapper.toBookingFullDto(booking);
+
+        assertEquals(3L, result.getId());
+        assertEquals(booking.getStart(), result.getStart());
+        assertEquals(booking.getEnd(), result.getEnd());
+        assertEquals(2L, result.getItem().getId());
+        assertEquals(1L, result.getItem().getUserId());
+        assertEquals(1L, result.getBooker().getId());
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+    }
+
+    @Test
+    @DisplayName("id вещи из BookingCreateDto не должен попадать в id брони")
+    void toBookingDoesNotUseItemIdAsId() {
+        BookingCreateDto bookingCreateDto = BookingCreateDto.builder()
+                .itemId(2L)
+                .start(LocalDateTime.now())
+                .end(LocalDateTime.now().plusDays(1))
+                .build();
+
+        Booking result = bookingMapper.toBooking(bookingCreateDto);
+
+        assertNull(result.getId());
+        assertNull(result.getItem());
+        assertEquals(bookingCreateDto.getStart(), result.getStart());
+    }
+
+    @Test
+    @DisplayName("requestId из ItemCreateDto должен становиться ссылкой на запрос, а не id вещи")
+    void toItemWithRequestId() {
+        ItemCreateDto itemCreateDto = ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook Air")
+                .available(true)
+                .requestId(5L)
+                .build();
+
+        Item result = itemMapper.toItem(itemCreateDto);
+
+        assertNull(result.getId());
+        ItemRequest request = result.getRequest();
+        assertEquals(5L, request.getId());
+    }
+}
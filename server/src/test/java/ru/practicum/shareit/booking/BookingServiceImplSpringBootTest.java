@@ -1,13 +1,20 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.InvalidPageException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
@@ -16,10 +23,23 @@ import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -36,6 +56,18 @@ class BookingServiceImplSpringBootTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemBookingReferences itemBookingReferences;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DisplayName("Получение бронирований с соответствующими параметрами. Должно вернуть только подходящие бронирования," +
             " которые были совершены именно пользователем, который делает запрос. А при попытке получить бронирования," +
@@ -168,31 +200,510 @@ class BookingServiceImplSpringBootTest {
 
         BookingFullDto bookingFullDto7 = bookingService.approve(userFullDto1.getId(), bookingFullDtoCreated7.getId(), false);
 
-        Collection<BookingFullDto> allForUserItemsWithStatePast = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.PAST);
+        Collection<BookingFullDto> allForUserItemsWithStatePast = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.PAST, 0, 10, null, null);
         assertEquals(2, allForUserItemsWithStatePast.size());
         assertTrue(allForUserItemsWithStatePast.containsAll(List.of(bookingFullDto1, bookingFullDto2)));
 
-        Collection<BookingFullDto> allForUserItemsWithStateFuture = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.FUTURE);
+        Collection<BookingFullDto> allForUserItemsWithStateFuture = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.FUTURE, 0, 10, null, null);
         assertEquals(3, allForUserItemsWithStateFuture.size());
         assertTrue(allForUserItemsWithStateFuture.containsAll(List.of(bookingFullDto4, bookingFullDtoCreated6, bookingFullDto7)));
 
-        Collection<BookingFullDto> allForUserItemsWithStateCurrent = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.CURRENT);
+        Collection<BookingFullDto> allForUserItemsWithStateCurrent = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.CURRENT, 0, 10, null, null);
         assertEquals(1, allForUserItemsWithStateCurrent.size());
         assertTrue(allForUserItemsWithStateCurrent.contains(bookingFullDto5));
 
-        Collection<BookingFullDto> allForUserItemsWithStateWaiting = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.WAITING);
+        Collection<BookingFullDto> allForUserItemsWithStateWaiting = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.WAITING, 0, 10, null, null);
         assertEquals(1, allForUserItemsWithStateWaiting.size());
         assertTrue(allForUserItemsWithStateWaiting.contains(bookingFullDtoCreated6));
 
-        Collection<BookingFullDto> allForUserItemsWithStateRejected = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.REJECTED);
+        Collection<BookingFullDto> allForUserItemsWithStateRejected = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.REJECTED, 0, 10, null, null);
         assertEquals(1, allForUserItemsWithStateRejected.size());
         assertTrue(allForUserItemsWithStateRejected.contains(bookingFullDto7));
 
-        Collection<BookingFullDto> allForUserItemsWithStateAll = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.ALL);
+        Collection<BookingFullDto> allForUserItemsWithStateAll = bookingService.getAllForUserItemsWithState(userFullDto1.getId(), BookingStateParameter.ALL, 0, 10, null, null);
         assertEquals(6, allForUserItemsWithStateAll.size());
         assertTrue(allForUserItemsWithStateAll.containsAll(List
                 .of(bookingFullDto1, bookingFullDto2, bookingFullDto4, bookingFullDto5, bookingFullDtoCreated6, bookingFullDto7)));
 
-        assertThrows(UserNotFoundException.class, () -> bookingService.getAllForUserItemsWithState(12345678910L, BookingStateParameter.WAITING));
+        assertThrows(UserNotFoundException.class, () -> bookingService.getAllForUserItemsWithState(12345678910L, BookingStateParameter.WAITING, 0, 10, null, null));
+    }
+
+    @Test
+    @DisplayName("Постраничное получение бронирований пользователя по курсору должно вернуть все бронирования" +
+            " без повторов в порядке убывания даты начала")
+    void getAllByUserIdWithStateWithCursor() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<BookingFullDto> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(i % 3))
+                    .end(start.plusDays(i % 3).plusHours(1))
+                    .build()));
+        }
+        List<Long> expectedIds = created.stream()
+                .sorted(Comparator.comparing(BookingFullDto::getStart)
+                        .thenComparing(BookingFullDto::getId)
+                        .reversed())
+                .map(BookingFullDto::getId)
+                .toList();
+
+        List<Long> fetchedIds = new ArrayList<>();
+        Collection<BookingFullDto> page = bookingService.getAllByUserIdWithState(booker.getId(),
+                BookingStateParameter.ALL, 0, 2, null, null);
+        while (!page.isEmpty()) {
+            page.forEach(booking -> fetchedIds.add(booking.getId()));
+            BookingFullDto last = List.copyOf(page).get(page.size() - 1);
+            page = bookingService.getAllByUserIdWithState(booker.getId(), BookingStateParameter.ALL, 0, 2,
+                    last.getStart(), last.getId());
+        }
+
+        assertEquals(expectedIds, fetchedIds);
+    }
+
+    @Test
+    @DisplayName("Бронирования для вещей владельца должны включать брони других пользователей на его вещи" +
+            " и не включать брони самого владельца на чужие вещи")
+    void getAllForUserItemsWithStateByOwner() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        ItemFullDto ownerItem = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        ItemFullDto bookerItem = itemService.create(booker.getId(), ItemCreateDto.builder()
+                .name("Book")
+                .description("Harry Potter")
+                .available(true)
+                .build());
+
+        LocalDateTime start = LocalDateTime.of(2090, 1, 1, 0, 0);
+        BookingFullDto ownerItemBooking = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                .itemId(ownerItem.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+        bookingService.create(owner.getId(), BookingCreateDto.builder()
+                .itemId(bookerItem.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+
+        Collection<BookingFullDto> ownerBookings = bookingService.getAllForUserItemsWithState(owner.getId(),
+                BookingStateParameter.ALL, 0, 10, null, null);
+        assertEquals(List.of(ownerItemBooking.getId()), ownerBookings.stream().map(BookingFullDto::getId).toList());
+
+        Collection<BookingFullDto> ownerWaitingBookings = bookingService.getAllForUserItemsWithState(owner.getId(),
+                BookingStateParameter.WAITING, 0, 10, start.plusHours(1), Long.MAX_VALUE);
+        assertEquals(List.of(ownerItemBooking.getId()), ownerWaitingBookings.stream().map(BookingFullDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Страница бронирований должна начинаться с from, даже если он не кратен size, а пустая страница" +
+            " должна выбросить исключение InvalidPageException")
+    void getAllByUserIdWithStateFromOffset() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> ids = new ArrayList<>();
+        for (int days = 4; days >= 0; days--) {
+            ids.add(bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(days))
+                    .end(start.plusDays(days).plusHours(1))
+                    .build()).getId());
+        }
+
+        assertEquals(ids.subList(1, 3), bookingService.getAllByUserIdWithState(booker.getId(),
+                BookingStateParameter.ALL, 1, 2, null, null).stream().map(BookingFullDto::getId).toList());
+        assertEquals(ids.subList(3, 5), bookingService.getAllForUserItemsWithState(owner.getId(),
+                BookingStateParameter.ALL, 3, 10, null, null).stream().map(BookingFullDto::getId).toList());
+        assertThrows(InvalidPageException.class, () -> bookingService.getAllByUserIdWithState(booker.getId(),
+                BookingStateParameter.ALL, 0, 0, null, null));
+    }
+
+    @Test
+    @DisplayName("Подтверждение, отклонение и начало бронирований должны менять последнее и следующее бронирование вещи")
+    void lastAndNextBookingsOfItem() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingFullDto> bookings = new ArrayList<>();
+        for (int days : new int[]{-2, 1, 2, 3}) {
+            bookings.add(bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(now.plusDays(days))
+                    .end(now.plusDays(days).plusHours(1))
+                    .build()));
+        }
+        bookingService.approve(owner.getId(), bookings.get(0).getId(), true);
+        bookingService.approve(owner.getId(), bookings.get(2).getId(), true);
+        bookingService.approve(owner.getId(), bookings.get(1).getId(), true);
+        bookingService.approve(owner.getId(), bookings.get(1).getId(), false);
+
+        ItemFullDto result = itemService.getItemsOfOwner(owner.getId()).iterator().next();
+        assertEquals(bookings.get(0).getId(), result.getLastBooking().getId());
+        assertEquals(bookings.get(2).getId(), result.getNextBooking().getId());
+
+        Booking started = bookingRepository.findById(bookings.get(2).getId()).orElseThrow();
+        started.setStart(now.minusHours(1));
+        bookingRepository.save(started);
+        bookingService.approve(owner.getId(), bookings.get(3).getId(), true);
+
+        result = itemService.getItemsOfOwner(owner.getId()).iterator().next();
+        assertEquals(bookings.get(2).getId(), result.getLastBooking().getId());
+        assertEquals(bookings.get(3).getId(), result.getNextBooking().getId());
+
+        itemBookingReferences.rollForward();
+        entityManager.flush();
+        entityManager.clear();
+
+        Item rolled = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(bookings.get(2).getId(), rolled.getLastBooking().getId());
+        assertEquals(bookings.get(3).getId(), rolled.getNextBooking().getId());
+    }
+
+    @Test
+    @DisplayName("Ссылки вещей, следующее бронирование которых уже началось, должны находиться одним запросом на все" +
+            " вещи: последнее начавшееся и ближайшее будущее подтверждённое бронирование каждой вещи")
+    void resolveOutdatedItems() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Long> itemIds = new ArrayList<>();
+        List<List<Long>> bookingIds = new ArrayList<>();
+        for (String name : new String[]{"Laptop", "Phone", "Tablet"}) {
+            long itemId = itemService.create(owner.getId(), ItemCreateDto.builder()
+                    .name(name)
+                    .description(name)
+                    .available(true)
+                    .build()).getId();
+            List<Long> ids = new ArrayList<>();
+            for (int days : new int[]{1, 2, 3, 4}) {
+                BookingFullDto booking = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                        .itemId(itemId)
+                        .start(now.plusDays(days))
+                        .end(now.plusDays(days).plusHours(1))
+                        .build());
+                bookingService.approve(owner.getId(), booking.getId(), true);
+                ids.add(booking.getId());
+            }
+            itemIds.add(itemId);
+            bookingIds.add(ids);
+        }
+        bookingService.approve(owner.getId(), bookingIds.get(1).get(1), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Item> items = itemRepository.findAllById(itemIds);
+        Map<Long, ItemBookingReferences.LastAndNext> result = itemBookingReferences.resolve(items,
+                now.plusDays(2).plusHours(12));
+
+        assertEquals(bookingIds.get(0).get(1), result.get(itemIds.get(0)).last().getId());
+        assertEquals(bookingIds.get(0).get(2), result.get(itemIds.get(0)).next().getId());
+        assertEquals(bookingIds.get(1).get(0), result.get(itemIds.get(1)).last().getId());
+        assertEquals(bookingIds.get(1).get(2), result.get(itemIds.get(1)).next().getId());
+        assertEquals(bookingIds.get(2).get(1), result.get(itemIds.get(2)).last().getId());
+        assertEquals(bookingIds.get(2).get(2), result.get(itemIds.get(2)).next().getId());
+
+        result = itemBookingReferences.resolve(items, now.plusDays(5));
+        assertEquals(bookingIds.get(0).get(3), result.get(itemIds.get(0)).last().getId());
+        assertNull(result.get(itemIds.get(0)).next());
+    }
+
+    @Test
+    @DisplayName("Подтверждение списка броней должно менять статусы только броней своих вещей без пересечений" +
+            " и обновлять следующее бронирование вещей")
+    void approveAllBookings() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+        ItemFullDto laptop = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        ItemFullDto phone = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Phone")
+                .description("Google Phone")
+                .available(true)
+                .build());
+        ItemFullDto foreign = itemService.create(booker.getId(), ItemCreateDto.builder()
+                .name("Book")
+                .description("Harry Potter")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> ids = new ArrayList<>();
+        for (ItemFullDto item : List.of(laptop, laptop, phone, foreign)) {
+            ids.add(bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build()).getId());
+        }
+        ids.add(-1L);
+
+        List<BookingApprovalResultDto> results = bookingService.approveAll(owner.getId(), ids, true);
+
+        assertEquals(List.of(BookingApprovalResult.APPROVED, BookingApprovalResult.OVERLAPS,
+                        BookingApprovalResult.APPROVED, BookingApprovalResult.FORBIDDEN, BookingApprovalResult.NOT_FOUND),
+                results.stream().map(BookingApprovalResultDto::getResult).toList());
+        assertEquals(List.of(BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.APPROVED, BookingStatus.WAITING),
+                ids.subList(0, 4).stream()
+                        .map(id -> bookingRepository.findById(id).orElseThrow().getStatus())
+                        .toList());
+        Map<Long, ItemFullDto> items = itemService.getItemsOfOwner(owner.getId()).stream()
+                .collect(Collectors.toMap(ItemFullDto::getId, Function.identity()));
+        assertEquals(ids.get(0), items.get(laptop.getId()).getNextBooking().getId());
+        assertEquals(ids.get(2), items.get(phone.getId()).getNextBooking().getId());
+
+        results = bookingService.approveAll(owner.getId(), List.of(ids.get(0), ids.get(1)), false);
+
+        assertEquals(List.of(BookingApprovalResult.REJECTED, BookingApprovalResult.REJECTED),
+                results.stream().map(BookingApprovalResultDto::getResult).toList());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(ids.get(1)).orElseThrow().getStatus());
+        assertNull(itemService.getItemsOfOwner(owner.getId()).stream()
+                .filter(item -> item.getId().equals(laptop.getId()))
+                .findFirst().orElseThrow().getNextBooking());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Удаление пользователя должно заменять его бронирования в ссылках вещей на следующие подтверждённые")
+    void deleteBookerMovesItemBookings() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john.delete@gmail.com")
+                .build());
+        UserFullDto first = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas.delete@gmail.com")
+                .build());
+        UserFullDto second = userService.create(UserCreateDto.builder()
+                .name("Anna")
+                .email("anna.delete@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        try {
+            BookingFullDto firstBooking = bookingService.create(first.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build());
+            BookingFullDto secondBooking = bookingService.create(second.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(2))
+                    .end(start.plusDays(3))
+                    .build());
+            bookingService.approve(owner.getId(), firstBooking.getId(), true);
+            bookingService.approve(owner.getId(), secondBooking.getId(), true);
+            assertEquals(firstBooking.getId(), itemService.get(item.getId()).getNextBooking().getId());
+
+            userService.delete(first.getId());
+
+            assertEquals(secondBooking.getId(),
+                    itemService.get(item.getId()).getNextBooking().getId());
+        } finally {
+            userService.delete(owner.getId());
+            userService.delete(second.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Бронирование и подтверждение брони на время, занятое подтверждённой бронью, должны выбросить" +
+            " исключение BookingOverlapException")
+    void overlappingBookings() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john.overlap@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas.overlap@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        try {
+            BookingFullDto first = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(2))
+                    .build());
+            BookingFullDto second = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(1))
+                    .end(start.plusDays(3))
+                    .build());
+            bookingService.approve(owner.getId(), first.getId(), true);
+
+            assertThrows(BookingOverlapException.class, () -> bookingService.approve(owner.getId(), second.getId(), true));
+            assertThrows(BookingOverlapException.class, () -> bookingService.create(booker.getId(),
+                    BookingCreateDto.builder()
+                            .itemId(item.getId())
+                            .start(start.minusHours(1))
+                            .end(start.plusHours(1))
+                            .build()));
+            BookingFullDto adjacent = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusDays(2))
+                    .end(start.plusDays(4))
+                    .build());
+            assertEquals(BookingStatus.APPROVED, bookingService.approve(owner.getId(), adjacent.getId(), true).getStatus());
+
+            bookingService.approve(owner.getId(), first.getId(), false);
+            assertEquals(BookingStatus.WAITING, bookingService.create(booker.getId(), BookingCreateDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build()).getStatus());
+        } finally {
+            userService.delete(owner.getId());
+            userService.delete(booker.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Параллельные бронирования и подтверждения двух вещей не должны давать пересекающихся подтверждённых" +
+            " бронирований одной вещи")
+    void concurrentBookingsOfItems() throws Exception {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john.concurrent@gmail.com")
+                .build());
+        UserFullDto booker = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas.concurrent@gmail.com")
+                .build());
+        List<Long> itemIds = new ArrayList<>();
+        for (String name : new String[]{"Laptop", "Phone"}) {
+            itemIds.add(itemService.create(owner.getId(), ItemCreateDto.builder()
+                    .name(name)
+                    .description(name)
+                    .available(true)
+                    .build()).getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        int threads = 8;
+        int attempts = 25;
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                Random random = new Random(thread);
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < attempts; i++) {
+                        LocalDateTime bookingStart = start.plusHours(random.nextInt(48));
+                        try {
+                            BookingFullDto booking = bookingService.create(booker.getId(), BookingCreateDto.builder()
+                                    .itemId(itemIds.get(random.nextInt(itemIds.size())))
+                                    .start(bookingStart)
+                                    .end(bookingStart.plusHours(1 + random.nextInt(3)))
+                                    .build());
+                            bookingService.approve(owner.getId(), booking.getId(), true);
+                            approved.incrementAndGet();
+                        } catch (BookingOverlapException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            List<BookingFullDto> approvedBookings = bookingService.getAllForUserItemsWithState(owner.getId(),
+                            BookingStateParameter.ALL, 0, threads * attempts, null, null).stream()
+                    .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                    .sorted(Comparator.comparing((BookingFullDto booking) -> booking.getItem().getId())
+                            .thenComparing(BookingFullDto::getStart))
+                    .toList();
+            assertEquals(approved.get(), approvedBookings.size());
+            assertTrue(rejected.get() > 0);
+            for (int i = 1; i < approvedBookings.size(); i++) {
+                BookingFullDto previous = approvedBookings.get(i - 1);
+                BookingFullDto booking = approvedBookings.get(i);
+                if (previous.getItem().getId().equals(booking.getItem().getId())) {
+                    assertFalse(booking.getStart().isBefore(previous.getEnd()),
+                            "Bookings " + previous.getId() + " and " + booking.getId() + " overlap");
+                }
+            }
+        } finally {
+            executor.shutdown();
+            userService.delete(owner.getId());
+            userService.delete(booker.getId());
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,15 +7,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApproveAllDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.InvalidBookingIdsException;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.exception.PermissionDeniedException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.user.User;
@@ -23,10 +27,13 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserFullDto;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -35,6 +42,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyCollection;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,7 +62,16 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper mapper;
+    private BookingMapper mapper;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Mock
+    private ItemBookingReferences itemBookingReferences;
+
+    @Mock
+    private ItemBookingIntervals itemBookingIntervals;
 
     private Long userId = 1L;
     private Long itemId = 1L;
@@ -131,10 +148,10 @@ class BookingServiceImplTest {
     void createWhenSuccess() {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(mapper.map(bookingCreateDto, Booking.class)).thenReturn(booking);
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(mapper.toBooking(bookingCreateDto)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(mapper.map(booking, BookingFullDto.class)).thenReturn(bookingFullDto);
+        when(mapper.toBookingFullDto(booking)).thenReturn(bookingFullDto);
 
         BookingFullDto result = bookingService.create(userId, bookingCreateDto);
 
@@ -149,24 +166,81 @@ class BookingServiceImplTest {
         item.setAvailable(false);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         ItemNotAvailableException exception = assertThrows(ItemNotAvailableException.class, () -> bookingService.create(userId, bookingCreateDto));
         assertEquals("Item with id " + itemId + " is not available", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Бронирование на время, пересекающееся с подтверждённым бронированием, должно выбросить исключение BookingOverlapException")
+    void createWhenOverlapsApprovedBooking() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(itemBookingIntervals.overlapsApproved(itemId, startDate, endDate)).thenReturn(true);
+        when(itemBookingIntervals.overlapsApprovedInDatabase(itemId, startDate, endDate)).thenReturn(true);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class, () -> bookingService.create(userId, bookingCreateDto));
+        assertEquals("Item with id " + itemId + " is already booked for this time", exception.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Бронирование на время, занятое в памяти бронью, которая в базе уже отклонена, должно создаваться")
+    void createWhenOverlapInMemoryIsStale() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(itemBookingIntervals.overlapsApproved(itemId, startDate, endDate)).thenReturn(true);
+        when(mapper.toBooking(bookingCreateDto)).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(mapper.toBookingFullDto(booking)).thenReturn(bookingFullDto);
+
+        assertEquals(bookingFullDto, bookingService.create(userId, bookingCreateDto));
+        verify(itemBookingIntervals).overlapsApprovedInDatabase(itemId, startDate, endDate);
+    }
+
+    @Test
+    @DisplayName("Бронирование на свободное по памяти время не должно проверяться по базе")
+    void createWhenFreeInMemory() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(mapper.toBooking(bookingCreateDto)).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(mapper.toBookingFullDto(booking)).thenReturn(bookingFullDto);
+
+        bookingService.create(userId, bookingCreateDto);
+        verify(itemBookingIntervals, never()).overlapsApprovedInDatabase(itemId, startDate, endDate);
+    }
+
     @Test
     @DisplayName("Метод подтверждения брони должен возвращать бронь со статусом APPROVED")
     void approveWhenSuccess() {
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         when(userRepository.existsById(userId)).thenReturn(true);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(mapper.map(booking, BookingFullDto.class)).thenReturn(bookingFullDto);
+        when(mapper.toBookingFullDto(booking)).thenReturn(bookingFullDto);
 
         BookingFullDto result = bookingService.approve(userId, bookingId, true);
         assertNotNull(result);
         assertEquals(bookingFullDto, result);
+        verify(itemRepository).findByIdForUpdate(itemId);
         verify(bookingRepository).save(any(Booking.class));
+        verify(itemBookingReferences).onStatusChanged(booking);
+        verify(itemBookingIntervals).onStatusChanged(booking);
+        verify(itemDetailsCache).evict(itemId);
+    }
+
+    @Test
+    @DisplayName("Подтверждение брони, пересекающейся с подтверждённой, должно выбросить исключение BookingOverlapException")
+    void approveWhenOverlapsApprovedBooking() {
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemBookingIntervals.overlapsApprovedInDatabase(itemId, startDate, endDate)).thenReturn(true);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class, () -> bookingService.approve(userId, bookingId, true));
+        assertEquals("Booking with id " + bookingId + " overlaps an approved booking", exception.getMessage());
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -189,12 +263,80 @@ class BookingServiceImplTest {
         assertEquals("Booking with id " + bookingId + " not found", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Подтверждение списка броней должно менять одним запросом только брони своих вещей без пересечений")
+    void approveAllWhenSomeBookingsSkipped() {
+        User other = User.builder().id(2L).name("Nicolas").email("nicolas@gmail.com").build();
+        Item otherItem = Item.builder().id(2L).name("Book").available(true).user(other).build();
+        Booking foreign = Booking.builder().id(2L).start(startDate).end(endDate).item(otherItem)
+                .status(BookingStatus.WAITING).build();
+        Booking overlapping = Booking.builder().id(3L).start(startDate.plusDays(1)).end(endDate).item(item)
+                .status(BookingStatus.WAITING).build();
+        Booking overlappingApproved = Booking.builder().id(4L).start(endDate).end(endDate.plusDays(1)).item(item)
+                .status(BookingStatus.WAITING).build();
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemByIdIn(anyCollection()))
+                .thenReturn(List.of(booking, foreign, overlapping, overlappingApproved));
+        when(bookingRepository.findIdsOverlappingStatus(anyCollection(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(4L));
+
+        List<BookingApprovalResultDto> result = bookingService.approveAll(userId, List.of(1L, 2L, 3L, 4L, 5L, 1L), true);
+
+        assertEquals(List.of(new BookingApprovalResultDto(1L, BookingApprovalResult.APPROVED),
+                new BookingApprovalResultDto(2L, BookingApprovalResult.FORBIDDEN),
+                new BookingApprovalResultDto(3L, BookingApprovalResult.OVERLAPS),
+                new BookingApprovalResultDto(4L, BookingApprovalResult.OVERLAPS),
+                new BookingApprovalResultDto(5L, BookingApprovalResult.NOT_FOUND)), result);
+        verify(itemRepository).findAllByUserIdAndBookingIdInForUpdate(eq(userId), anyCollection());
+        verify(bookingRepository).updateStatusOfOwnerBookings(List.of(1L), userId, BookingStatus.APPROVED);
+        verify(itemBookingIntervals).onStatusChanged(booking);
+        verify(itemBookingReferences).onStatusesChanged(Set.of(itemId));
+        verify(itemDetailsCache).evict(itemId);
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+    }
+
+    @Test
+    @DisplayName("Подтверждение пустого списка броней, списка с null или длиннее MAX_BOOKING_IDS должно выбросить" +
+            " исключение InvalidBookingIdsException")
+    void approveAllWhenBookingIdsInvalid() {
+        List<Long> tooMany = LongStream.rangeClosed(1, BookingApproveAllDto.MAX_BOOKING_IDS + 1).boxed().toList();
+
+        assertThrows(InvalidBookingIdsException.class, () -> bookingService.approveAll(userId, null, true));
+        assertThrows(InvalidBookingIdsException.class, () -> bookingService.approveAll(userId, List.of(), true));
+        assertThrows(InvalidBookingIdsException.class,
+                () -> bookingService.approveAll(userId, Arrays.asList(1L, null), true));
+        assertThrows(InvalidBookingIdsException.class, () -> bookingService.approveAll(userId, tooMany, true));
+        verify(bookingRepository, never()).updateStatusOfOwnerBookings(anyCollection(), eq(userId), any());
+    }
+
+    @Test
+    @DisplayName("Отклонение списка броней без своих броней не должно ничего менять")
+    void approveAllWhenNothingToChange() {
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemByIdIn(anyCollection())).thenReturn(List.of());
+
+        List<BookingApprovalResultDto> result = bookingService.approveAll(userId, List.of(7L), false);
+
+        assertEquals(List.of(new BookingApprovalResultDto(7L, BookingApprovalResult.NOT_FOUND)), result);
+        verify(bookingRepository, never()).updateStatusOfOwnerBookings(anyCollection(), eq(userId), any());
+        verify(itemBookingReferences, never()).onStatusesChanged(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Подтверждение списка броней несуществующим пользователем должно выбросить UserNotFoundException")
+    void approveAllWhenUserNotFound() {
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> bookingService.approveAll(userId, List.of(bookingId), true));
+        verify(bookingRepository, never()).updateStatusOfOwnerBookings(anyCollection(), eq(userId), any());
+    }
+
     @Test
     @DisplayName("Метод получения брони должен возвращать бронь")
     void getWhenSuccess() {
         when(userRepository.existsById(userId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(mapper.map(booking, BookingFullDto.class)).thenReturn(bookingFullDto);
+        when(mapper.toBookingFullDto(booking)).thenReturn(bookingFullDto);
 
         BookingFullDto result = bookingService.get(userId, bookingId);
         assertNotNull(result);
@@ -217,15 +359,15 @@ class BookingServiceImplTest {
     @DisplayName("Метод получения броней пользователя с состоянием ALL должен возвращать список всех броней")
     void getAllByUserIdWithStateAll_WhenSuccess() {
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findAllByBookerId(userId)).thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(eq(userId), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(booking));
 
         doReturn(Collections.singletonList(bookingFullDto))
-                .when(mapper).map(anyCollection(), eq(new TypeToken<Collection<BookingFullDto>>() {
-                }.getType()));
+                .when(mapper).toBookingFullDtos(anyCollection());
 
-        when(bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL)).thenReturn(Collections.singletonList(bookingFullDto));
+        when(bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL, 0, 10, null, null)).thenReturn(Collections.singletonList(bookingFullDto));
 
-        Collection<BookingFullDto> result = bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL);
+        Collection<BookingFullDto> result = bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL, 0, 10, null, null);
 
         assertNotNull(result);
         assertEquals(Collections.singletonList(bookingFullDto), result);
@@ -236,24 +378,20 @@ class BookingServiceImplTest {
     void getAllByUserIdWithStateAll_WhenUserNotFound() {
         when(userRepository.existsById(userId)).thenReturn(false);
 
-        assertThrows(UserNotFoundException.class, () -> bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL));
+        assertThrows(UserNotFoundException.class, () -> bookingService.getAllByUserIdWithState(userId, BookingStateParameter.ALL, 0, 10, null, null));
     }
 
     @Test
     @DisplayName("Метод получения броней для вещей пользователя с состоянием ALL должен возвращать список броней для всех вещей")
     void getAllForUserItemsWithStateAll_WhenSuccess() {
         when(userRepository.existsById(userId)).thenReturn(true);
-        List<Item> userItems = Collections.singletonList(item);
-
-        when(itemRepository.findAllByUserId(userId)).thenReturn(userItems);
 
         doReturn(Collections.singletonList(bookingFullDto))
-                .when(mapper).map(anyCollection(), eq(new TypeToken<Collection<BookingFullDto>>() {
-                }.getType()));
+                .when(mapper).toBookingFullDtos(anyCollection());
 
-        when(bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL)).thenReturn(Collections.singletonList(bookingFullDto));
+        when(bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL, 0, 10, null, null)).thenReturn(Collections.singletonList(bookingFullDto));
 
-        Collection<BookingFullDto> result = bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL);
+        Collection<BookingFullDto> result = bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL, 0, 10, null, null);
 
         assertNotNull(result);
         assertEquals(Collections.singletonList(bookingFullDto), result);
@@ -264,6 +402,6 @@ class BookingServiceImplTest {
     void getAllForUserItemsWithStateAll_WhenUserNotFound() {
         when(userRepository.existsById(userId)).thenReturn(false);
 
-        assertThrows(UserNotFoundException.class, () -> bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL));
+        assertThrows(UserNotFoundException.class, () -> bookingService.getAllForUserItemsWithState(userId, BookingStateParameter.ALL, 0, 10, null, null));
     }
 }
\ No newline at end of file
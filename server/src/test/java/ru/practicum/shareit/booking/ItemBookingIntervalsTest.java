@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingIntervalsTest {
+
+    private static final long ITEM_ID = 1L;
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemBookingIntervals intervals;
+
+    @BeforeEach
+    void setUp() {
+        intervals = new ItemBookingIntervals(bookingRepository, jdbcTemplate);
+        assertFalse(overlaps());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Подтверждение должно попадать в память до коммита и убираться из неё при откате")
+    void approvalAppliesBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        intervals.onStatusChanged(booking(BookingStatus.APPROVED));
+        assertFalse(overlaps());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        assertTrue(overlaps());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertFalse(overlaps());
+    }
+
+    @Test
+    @DisplayName("Отклонение должно убирать бронь из памяти только после коммита")
+    void rejectionAppliesAfterCommit() {
+        intervals.onStatusChanged(booking(BookingStatus.APPROVED));
+        assertTrue(overlaps());
+
+        TransactionSynchronizationManager.initSynchronization();
+        intervals.onStatusChanged(booking(BookingStatus.REJECTED));
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        assertTrue(overlaps());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertFalse(overlaps());
+    }
+
+    @Test
+    @DisplayName("Вес вещи в памяти должен пересчитываться при добавлении и удалении интервалов")
+    void weightFollowsIntervals() {
+        assertEquals(1, intervals.weight());
+
+        intervals.onStatusChanged(booking(BookingStatus.APPROVED));
+        assertEquals(2, intervals.weight());
+
+        intervals.onStatusChanged(booking(BookingStatus.REJECTED));
+        assertEquals(1, intervals.weight());
+    }
+
+    private boolean overlaps() {
+        return intervals.overlapsApproved(ITEM_ID, START.plusMinutes(30), START.plusHours(2));
+    }
+
+    private static Booking booking(BookingStatus status) {
+        return Booking.builder()
+                .id(10L)
+                .item(Item.builder().id(ITEM_ID).build())
+                .start(START)
+                .end(START.plusHours(1))
+                .status(status)
+                .build();
+    }
+}
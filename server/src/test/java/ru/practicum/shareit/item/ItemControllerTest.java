@@ -11,14 +11,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.verify;
@@ -174,7 +177,7 @@ class ItemControllerTest {
 
     @Test
     void search() throws Exception {
-        when(itemService.search("Laptop")).thenReturn(Collections.singletonList(itemFullDto));
+        when(itemService.search("Laptop", null, null, 0, 10)).thenReturn(Collections.singletonList(itemFullDto));
 
         mockMvc.perform(get("/items/search?text=Laptop")
                         .header(USER_ID_HEADER, userId)
@@ -187,7 +190,81 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value(itemFullDto.getName()))
                 .andExpect(jsonPath("$[0].description").value(itemFullDto.getDescription()))
                 .andExpect(jsonPath("$[0].available").value(itemFullDto.getAvailable()));
-        verify(itemService).search("Laptop");
+        verify(itemService).search("Laptop", null, null, 0, 10);
+    }
+
+    @Test
+    void searchFreeInWindow() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(itemService.search("Laptop", start, end, 0, 10)).thenReturn(Collections.singletonList(itemFullDto));
+
+        mockMvc.perform(get("/items/search?text=Laptop&start=2030-01-01T12:00:00&end=2030-01-03T12:00:00")
+                        .header(USER_ID_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId));
+        verify(itemService).search("Laptop", start, end, 0, 10);
+    }
+
+    @Test
+    void searchSimilar() throws Exception {
+        when(itemService.searchSimilar("Lptop", 0.4, null, null, 0, 10)).thenReturn(Collections.singletonList(itemFullDto));
+
+        mockMvc.perform(get("/items/search?text=Lptop&fuzzy=true&similarity=0.4")
+                        .header(USER_ID_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId));
+        verify(itemService).searchSimilar("Lptop", 0.4, null, null, 0, 10);
+    }
+
+    @Test
+    void autocomplete() throws Exception {
+        when(itemService.autocomplete("lap", 5)).thenReturn(List.of(new ItemSuggestionDto(itemId, "Laptop")));
+
+        mockMvc.perform(get("/items/autocomplete?prefix=lap&size=5")
+                        .header(USER_ID_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId))
+                .andExpect(jsonPath("$[0].name").value("Laptop"));
+        verify(itemService).autocomplete("lap", 5);
+    }
+
+    @Test
+    void getComments() throws Exception {
+        CommentFullDto commentFullDto = CommentFullDto.builder()
+                .id(1L)
+                .text("Comment")
+                .authorName("John")
+                .build();
+
+        when(itemService.getComments(itemId, 0, 5)).thenReturn(List.of(commentFullDto));
+
+        mockMvc.perform(get("/items/{itemId}/comments?from=0&size=5", itemId)
+                        .header(USER_ID_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Comment"))
+                .andExpect(jsonPath("$[0].authorName").value("John"));
+        verify(itemService).getComments(itemId, 0, 5);
+    }
+
+    @Test
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+
+        when(itemService.getAvailability(itemId, from, to))
+                .thenReturn(List.of(new FreeIntervalDto(from.plusDays(1), to)));
+
+        mockMvc.perform(get("/items/{itemId}/availability?from={from}&to={to}", itemId, from, to)
+                        .header(USER_ID_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-02T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-03T00:00:00"));
     }
 
     @Test
@@ -1,21 +1,37 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentShortDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -27,6 +43,12 @@ class ItemServiceImplSpringBootTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Test
     void getItemsOfOwner() {
 
@@ -96,4 +118,196 @@ class ItemServiceImplSpringBootTest {
 
         assertThrows(UserNotFoundException.class, () -> itemService.getItemsOfOwner(-1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchRanksByRelevanceAndFollowsUpdates() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+
+        ItemFullDto inDescription = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Charger")
+                .description("Power adapter for Macbook")
+                .available(true)
+                .build());
+        ItemFullDto inName = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook Air")
+                .description("Laptop, 13 inch")
+                .available(true)
+                .build());
+        ItemFullDto unavailable = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook Pro")
+                .description("Laptop, 16 inch")
+                .available(false)
+                .build());
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids(itemService.search("MACBOOK", null, null, 0, 10)));
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids(itemService.search("mac", null, null, 0, 10)));
+        assertEquals(List.of(inName.getId()), ids(itemService.search("mac laptop", null, null, 0, 10)));
+        assertEquals(List.of(inDescription.getId()), ids(itemService.search("mac", null, null, 1, 1)));
+        assertTrue(itemService.search("phone", null, null, 0, 10).isEmpty());
+
+        itemService.update(owner.getId(), ItemUpdateDto.builder().name("Notebook").build(), inName.getId());
+        itemService.update(owner.getId(), ItemUpdateDto.builder().available(true).build(), unavailable.getId());
+        entityManager.flush();
+
+        assertEquals(List.of(unavailable.getId(), inDescription.getId()), ids(itemService.search("macbook", null, null, 0, 10)));
+        assertEquals(List.of(inName.getId()), ids(itemService.search("note", null, null, 0, 10)));
+    }
+
+    @Test
+    void searchSimilarFindsMisspelledWords() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+
+        ItemFullDto inDescription = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Charger")
+                .description("Power adapter for Macbook")
+                .available(true)
+                .build());
+        ItemFullDto inName = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook Air")
+                .description("Laptop, 13 inch")
+                .available(true)
+                .build());
+
+        assertTrue(itemService.search("makbook", null, null, 0, 10).isEmpty());
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids(itemService.searchSimilar("makbook", 0.3, null, null, 0, 10)));
+        assertEquals(List.of(inName.getId()), ids(itemService.searchSimilar("macbok lapton", 0.3, null, null, 0, 10)));
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids(itemService.searchSimilar("mac", 0.3, null, null, 0, 10)));
+        assertTrue(itemService.searchSimilar("makbook", 0.9, null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void itemsOfOwnerHaveOwnLatestComments() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        ItemFullDto laptop = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        ItemFullDto book = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Book")
+                .description("Harry Potter")
+                .available(true)
+                .build());
+        User author = entityManager.find(User.class, owner.getId());
+        Item laptopItem = entityManager.find(Item.class, laptop.getId());
+        for (int i = 0; i < 12; i++) {
+            commentRepository.save(Comment.builder().text("Laptop " + i).item(laptopItem).author(author).build());
+        }
+        commentRepository.save(Comment.builder()
+                .text("Book")
+                .item(entityManager.find(Item.class, book.getId()))
+                .author(author)
+                .build());
+        entityManager.flush();
+
+        Map<Long, ItemFullDto> items = itemService.getItemsOfOwner(owner.getId()).stream()
+                .collect(Collectors.toMap(ItemFullDto::getId, Function.identity()));
+
+        assertEquals(List.of("Laptop 11", "Laptop 10"), items.get(laptop.getId()).getComments().stream()
+                .limit(2)
+                .map(CommentShortDto::getText)
+                .toList());
+        assertEquals(10, items.get(laptop.getId()).getComments().size());
+        assertEquals(List.of("Book"), items.get(book.getId()).getComments().stream()
+                .map(CommentShortDto::getText)
+                .toList());
+
+        assertEquals(List.of("Laptop 1", "Laptop 0"), itemService.getComments(laptop.getId(), 10, 5).stream()
+                .map(CommentFullDto::getText)
+                .toList());
+        assertEquals("John", itemService.getComments(laptop.getId(), 0, 1).iterator().next().getAuthorName());
+    }
+
+    @Test
+    void availabilitySkipsWaitingAndApprovedBookings() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Laptop")
+                .description("Macbook")
+                .available(true)
+                .build());
+        User booker = entityManager.find(User.class, owner.getId());
+        Item laptop = entityManager.find(Item.class, item.getId());
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Map<Integer, BookingStatus> bookings = Map.of(-2, BookingStatus.APPROVED, 2, BookingStatus.WAITING,
+                4, BookingStatus.REJECTED, 6, BookingStatus.APPROVED, 12, BookingStatus.APPROVED);
+        bookings.forEach((day, status) -> entityManager.persist(Booking.builder()
+                .item(laptop)
+                .booker(booker)
+                .start(from.plusDays(day))
+                .end(from.plusDays(day + 3))
+                .status(status)
+                .build()));
+        entityManager.flush();
+
+        Collection<FreeIntervalDto> result = itemService.getAvailability(item.getId(), from, from.plusDays(10));
+
+        assertEquals(List.of(new FreeIntervalDto(from.plusDays(1), from.plusDays(2)),
+                new FreeIntervalDto(from.plusDays(5), from.plusDays(6)),
+                new FreeIntervalDto(from.plusDays(9), from.plusDays(10))), result);
+    }
+
+    @Test
+    void searchSkipsItemsBookedInWindow() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        ItemFullDto free = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook Air")
+                .description("Laptop, 13 inch")
+                .available(true)
+                .build());
+        ItemFullDto booked = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook Pro")
+                .description("Laptop, 16 inch")
+                .available(true)
+                .build());
+        ItemFullDto waiting = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Macbook")
+                .description("Laptop, 12 inch")
+                .available(true)
+                .build());
+        User booker = entityManager.find(User.class, owner.getId());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        persistBooking(free.getId(), booker, start.plusDays(3), start.plusDays(4), BookingStatus.APPROVED);
+        persistBooking(booked.getId(), booker, start.plusDays(1), start.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(waiting.getId(), booker, start.plusDays(1), start.plusDays(2), BookingStatus.WAITING);
+        entityManager.flush();
+
+        assertEquals(List.of(free.getId(), booked.getId(), waiting.getId()),
+                ids(itemService.search("macbook", null, null, 0, 10)));
+        assertEquals(List.of(free.getId(), waiting.getId()),
+                ids(itemService.search("macbook", start, start.plusDays(3), 0, 10)));
+        assertEquals(List.of(waiting.getId()), ids(itemService.search("macbook", start, start.plusDays(3), 1, 1)));
+        assertEquals(List.of(free.getId(), waiting.getId()),
+                ids(itemService.searchSimilar("makbook", 0.3, start, start.plusDays(3), 0, 10)));
+    }
+
+    private void persistBooking(long itemId, User booker, LocalDateTime start, LocalDateTime end,
+                                BookingStatus status) {
+        entityManager.persist(Booking.builder()
+                .item(entityManager.find(Item.class, itemId))
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+
+    private static List<Long> ids(Collection<ItemFullDto> items) {
+        return items.stream().map(ItemFullDto::getId).toList();
+    }
+}
@@ -6,24 +6,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.OffsetPageRequest;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingReferences;
+import ru.practicum.shareit.booking.ItemBookingReferences.LastAndNext;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.exception.CommentForNotStartedBookingException;
+import ru.practicum.shareit.exception.InvalidPageException;
+import ru.practicum.shareit.exception.InvalidSimilarityException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentFullDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.comment.CommentShortDto;
+import ru.practicum.shareit.item.dto.FreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.search.BookingWindow;
+import ru.practicum.shareit.item.search.ItemNameAutocomplete;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserFullDto;
@@ -32,18 +44,21 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyCollection;
-import static org.mockito.Mockito.anyList;
-import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,7 +80,25 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
 
     @Mock
-    private ModelMapper mapper;
+    private ItemMapper mapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemNameAutocomplete autocomplete;
+
+    @Mock
+    private ItemBookingReferences bookingReferences;
+
+    @Spy
+    private ItemDetailsCache detailsCache = new ItemDetailsCache(mock(PlatformTransactionManager.class));
 
     private Long userId = 1L;
     private Long itemId = 1L;
@@ -164,16 +197,18 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Создание вещи должно возвращать ItemFullDto")
     void createWhenSuccess() {
-        when(mapper.map(itemCreateDto, Item.class)).thenReturn(item);
+        when(mapper.toItem(itemCreateDto)).thenReturn(item);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
-        when(mapper.map(item, ItemFullDto.class)).thenReturn(itemFullDto);
+        when(mapper.toItemFullDto(item)).thenReturn(itemFullDto);
 
         ItemFullDto result = itemService.create(userId, itemCreateDto);
 
         assertNotNull(result);
         assertEquals(itemFullDto, result);
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(searchEngine).index(item);
+        verify(autocomplete).index(item);
     }
 
     @Test
@@ -213,15 +248,18 @@ class ItemServiceImplTest {
                 .build();
 
 
-        when(mapper.map(itemUpdateDto, Item.class)).thenReturn(itemUpdated);
+        when(mapper.toItem(itemUpdateDto)).thenReturn(itemUpdated);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.save(any(Item.class))).thenReturn(itemUpdated);
-        when(mapper.map(itemUpdated, ItemFullDto.class)).thenReturn(itemFullDtoUpdated);
+        when(mapper.toItemFullDto(itemUpdated)).thenReturn(itemFullDtoUpdated);
 
         ItemFullDto result = itemService.update(userId, itemUpdateDto, itemId);
         assertNotNull(result);
         assertEquals(itemFullDtoUpdated, result);
+        verify(searchEngine).index(itemUpdated);
+        verify(autocomplete).index(itemUpdated);
+        verify(detailsCache).evict(itemId);
     }
 
     @Test
@@ -244,20 +282,8 @@ class ItemServiceImplTest {
     void getWhenSuccess() {
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItemId(itemId)).thenReturn(Collections.singletonList(comment));
-        when(mapper.map(anyCollection(), eq(new TypeToken<Collection<CommentShortDto>>() {
-        }.getType()))).thenReturn(Collections.singletonList(commentShortDto));
-        when(mapper.map(item, ItemFullDto.class)).thenReturn(itemFullDto);
-
-        long someBookingId = 3L;
-
-        Booking someBooking = Booking.builder()
-                .id(someBookingId)
-                .start(startDate.minusMonths(1))
-                .end(endDate.minusMonths(1))
-                .item(item)
-                .booker(user)
-                .status(BookingStatus.APPROVED)
-                .build();
+        when(commentMapper.toCommentShortDtos(anyCollection())).thenReturn(Collections.singletonList(commentShortDto));
+        when(mapper.toItemFullDto(item)).thenReturn(itemFullDto);
 
         Booking lastBooking = Booking.builder()
                 .id(lastBookingId)
@@ -265,7 +291,7 @@ class ItemServiceImplTest {
                 .end(endDate)
                 .item(item)
                 .booker(user)
-                .status(BookingStatus.WAITING)
+                .status(BookingStatus.APPROVED)
                 .build();
 
         Booking nextBooking = Booking.builder()
@@ -274,19 +300,37 @@ class ItemServiceImplTest {
                 .end(endDate.plusMonths(2))
                 .item(item)
                 .booker(user)
-                .status(BookingStatus.WAITING)
+                .status(BookingStatus.APPROVED)
                 .build();
 
-        List<Booking> bookings = List.of(someBooking, lastBooking, nextBooking);
-
-        when(bookingRepository.findAllByItemId(itemId)).thenReturn(bookings);
+        when(bookingReferences.resolve(eq(item), any(LocalDateTime.class)))
+                .thenReturn(new LastAndNext(lastBooking, nextBooking));
 
-        when(mapper.map(Optional.of(lastBooking), BookingShortDto.class)).thenReturn(lastBookingShortDto);
-        when(mapper.map(Optional.of(nextBooking), BookingShortDto.class)).thenReturn(nextBookingShortDto);
+        when(bookingMapper.toBookingShortDto(lastBooking)).thenReturn(lastBookingShortDto);
+        when(bookingMapper.toBookingShortDto(nextBooking)).thenReturn(nextBookingShortDto);
 
         ItemFullDto result = itemService.get(itemId);
         assertNotNull(result);
         assertEquals(itemFullDto, result);
+        assertEquals(lastBookingShortDto, result.getLastBooking());
+        assertEquals(nextBookingShortDto, result.getNextBooking());
+    }
+
+    @Test
+    @DisplayName("Повторное получение вещи должно браться из кэша до изменения вещи")
+    void getFromCacheUntilEvicted() {
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(mapper.toItemFullDto(item)).thenReturn(itemFullDto);
+        when(bookingReferences.resolve(eq(item), any(LocalDateTime.class))).thenReturn(new LastAndNext(null, null));
+
+        assertEquals(itemFullDto, itemService.get(itemId));
+        assertEquals(itemFullDto, itemService.get(itemId));
+        verify(itemRepository, times(1)).findById(itemId);
+
+        detailsCache.evict(itemId);
+
+        assertEquals(itemFullDto, itemService.get(itemId));
+        verify(itemRepository, times(2)).findById(itemId);
     }
 
     @Test
@@ -302,32 +346,14 @@ class ItemServiceImplTest {
         when(userRepository.existsById(userId)).thenReturn(true);
 
         List<Item> itemsOfOwner = List.of(item);
-        List<ItemFullDto> itemsOfOwnerFullDto = List.of(itemFullDto);
 
         when(itemRepository.findAllByUserId(userId)).thenReturn(itemsOfOwner);
 
-        when(mapper.map(anyCollection(), eq(new TypeToken<Collection<ItemFullDto>>() {
-        }.getType()))).thenReturn(itemsOfOwnerFullDto);
-
-
-        List<Comment> comments = List.of(comment);
-        List<CommentShortDto> commentsShortDtos = List.of(commentShortDto);
+        when(mapper.toItemFullDto(item)).thenReturn(itemFullDto);
 
-        when(commentRepository.findAllByItemIn(itemsOfOwner)).thenReturn(comments);
+        when(commentRepository.findLatestByItemIdIn(eq(List.of(itemId)), anyInt())).thenReturn(List.of(comment));
 
-        when(mapper.map(anyCollection(), eq(new TypeToken<Collection<CommentShortDto>>() {
-        }.getType()))).thenReturn(commentsShortDtos);
-
-        long someBookingId = 3L;
-
-        Booking someBooking = Booking.builder()
-                .id(someBookingId)
-                .start(startDate.minusMonths(1))
-                .end(endDate.minusMonths(1))
-                .item(item)
-                .booker(user)
-                .status(BookingStatus.APPROVED)
-                .build();
+        when(commentMapper.toCommentShortDto(comment)).thenReturn(commentShortDto);
 
         Booking lastBooking = Booking.builder()
                 .id(lastBookingId)
@@ -335,47 +361,113 @@ class ItemServiceImplTest {
                 .end(endDate)
                 .item(item)
                 .booker(user)
-                .status(BookingStatus.WAITING)
-                .build();
-
-        Booking nextBooking = Booking.builder()
-                .id(nextBookingId)
-                .start(startDate.plusMonths(1))
-                .end(endDate.plusMonths(2))
-                .item(item)
-                .booker(user)
-                .status(BookingStatus.WAITING)
+                .status(BookingStatus.APPROVED)
                 .build();
 
-        List<Booking> bookings = List.of(someBooking, lastBooking, nextBooking);
-
-        when(bookingRepository.findAllByItemIdIn(anyList())).thenReturn(bookings);
+        when(bookingReferences.resolve(eq(itemsOfOwner), any(LocalDateTime.class)))
+                .thenReturn(Map.of(itemId, new LastAndNext(lastBooking, null)));
 
-        mapper.map(lastBooking, BookingShortDto.class);
-        mapper.map(nextBooking, BookingShortDto.class);
+        when(bookingMapper.toBookingShortDto(lastBooking)).thenReturn(lastBookingShortDto);
 
         Collection<ItemFullDto> result = itemService.getItemsOfOwner(userId);
         assertNotNull(result);
-        assertEquals(itemsOfOwnerFullDto, result);
+        assertEquals(List.of(itemFullDto), result);
+        assertEquals(lastBookingShortDto, itemFullDto.getLastBooking());
+        assertNull(itemFullDto.getNextBooking());
+        assertEquals(List.of(commentShortDto), itemFullDto.getComments());
     }
 
     @Test
     void search() {
-        Collection<Item> items = Collections.singletonList(item);
+        List<Item> items = Collections.singletonList(item);
         List<ItemFullDto> itemFullDtos = Collections.singletonList(itemFullDto);
-        when(itemRepository.searchByDescriptionOrName(anyString())).thenReturn(items);
-        when(mapper.map(items, new TypeToken<Collection<ItemFullDto>>() {
-        }.getType())).thenReturn(Collections.singletonList(itemFullDto));
+        when(searchEngine.search("Laptop", null, 0, 10)).thenReturn(items);
+        when(mapper.toItemFullDtos(items)).thenReturn(Collections.singletonList(itemFullDto));
 
-        Collection<ItemFullDto> result = itemService.search("Laptop");
+        Collection<ItemFullDto> result = itemService.search("Laptop", null, null, 0, 10);
 
         assertNotNull(result);
         assertEquals(itemFullDtos, result);
     }
 
+    @Test
+    void searchFreeInWindow() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<Item> items = Collections.singletonList(item);
+        when(searchEngine.search("Laptop", new BookingWindow(start, end), 0, 10)).thenReturn(items);
+        when(mapper.toItemFullDtos(items)).thenReturn(Collections.singletonList(itemFullDto));
+
+        Collection<ItemFullDto> result = itemService.search("Laptop", start, end, 0, 10);
+
+        assertEquals(List.of(itemFullDto), result);
+    }
+
+    @Test
+    void searchWithInvalidParameters() {
+        assertThrows(InvalidPageException.class, () -> itemService.search("Laptop", null, null, -1, 10));
+        assertThrows(InvalidPageException.class, () -> itemService.searchSimilar("Laptop", 0.5, null, null, 0, 0));
+        assertThrows(InvalidSimilarityException.class, () -> itemService.searchSimilar("Laptop", 0, null, null, 0, 10));
+        verifyNoInteractions(searchEngine);
+    }
+
+    @Test
+    void autocomplete() {
+        List<ItemSuggestionDto> suggestions = List.of(new ItemSuggestionDto(itemId, "Laptop"));
+        when(autocomplete.suggest("lap", 10)).thenReturn(suggestions);
+
+        Collection<ItemSuggestionDto> result = itemService.autocomplete("lap", 10);
+
+        assertEquals(suggestions, result);
+    }
+
+    @Test
+    void getComments() {
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findAllByItemIdOrderByIdDesc(itemId, OffsetPageRequest.of(10, 10))).thenReturn(List.of(comment));
+        when(commentMapper.toCommentFullDto(comment)).thenReturn(commentFullDto);
+
+        Collection<CommentFullDto> result = itemService.getComments(itemId, 10, 10);
+        assertEquals(List.of(commentFullDto), result);
+    }
+
+    @Test
+    void getCommentsWhenItemNotFound() {
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getComments(itemId, 0, 10));
+    }
+
+    @Test
+    void getAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        List<Booking> bookings = List.of(
+                Booking.builder().start(from.minusDays(1)).end(from.plusDays(1)).build(),
+                Booking.builder().start(from.plusDays(3)).end(from.plusDays(5)).build(),
+                Booking.builder().start(from.plusDays(4)).end(from.plusDays(6)).build(),
+                Booking.builder().start(from.plusDays(6)).end(from.plusDays(7)).build());
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(bookingRepository.findAllByItemIdAndStatusInOverlapping(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), from, to)).thenReturn(bookings);
+
+        Collection<FreeIntervalDto> result = itemService.getAvailability(itemId, from, to);
+
+        assertEquals(List.of(new FreeIntervalDto(from.plusDays(1), from.plusDays(3)),
+                new FreeIntervalDto(from.plusDays(7), to)), result);
+    }
+
+    @Test
+    void getAvailabilityWhenItemNotFound() {
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getAvailability(itemId,
+                LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+    }
+
     @Test
     void createComment() {
-        when(mapper.map(commentCreateDto, Comment.class)).thenReturn(comment);
+        when(commentMapper.toComment(commentCreateDto)).thenReturn(comment);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
@@ -411,17 +503,18 @@ class ItemServiceImplTest {
         List<Booking> bookings = List.of(someBooking, lastBooking, nextBooking);
 
         when(bookingRepository.findAllByBookerId(userId)).thenReturn(bookings);
-        when(mapper.map(any(Comment.class), eq(CommentFullDto.class))).thenReturn(commentFullDto);
+        when(commentMapper.toCommentFullDto(any(Comment.class))).thenReturn(commentFullDto);
         when(commentRepository.save(comment)).thenReturn(comment);
 
         CommentFullDto result = itemService.createComment(itemId, userId, commentCreateDto);
         assertNotNull(result);
         assertEquals(commentFullDto, result);
+        verify(detailsCache).evict(itemId);
     }
 
     @Test
     void createCommentForNotStartedBooking() {
-        when(mapper.map(commentCreateDto, Comment.class)).thenReturn(comment);
+        when(commentMapper.toComment(commentCreateDto)).thenReturn(comment);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryItemSearchEngine(jdbcTemplate, itemRepository, namedJdbcTemplate);
+        searchEngine.index(item(1L, "Macbook Air", "Laptop, 13 inch", true));
+        searchEngine.index(item(2L, "Charger", "Power adapter for Macbook", true));
+        searchEngine.index(item(3L, "Macbook Pro", "Laptop, 16 inch", false));
+        searchEngine.index(item(4L, "Bookshelf", "Oak, five shelves", true));
+    }
+
+    @Test
+    @DisplayName("Поиск должен находить подстроку слова и ставить совпадения в названии и с начала слова выше")
+    void searchBySubstring() {
+        assertEquals(List.of(1L, 2L), searchEngine.searchIds("MACBOOK", 0, 10));
+        assertEquals(List.of(4L, 1L, 2L), searchEngine.searchIds("book", 0, 10));
+        assertEquals(List.of(1L), searchEngine.searchIds("mac laptop", 0, 10));
+        assertEquals(List.of(2L), searchEngine.searchIds("book", 2, 1));
+        assertEquals(List.of(4L), searchEngine.searchIds("oa", 0, 10));
+        assertTrue(searchEngine.searchIds("phone", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Изменение вещи должно убирать старые слова из индекса и учитывать доступность")
+    void indexUpdatesItem() {
+        searchEngine.index(item(1L, "Notebook", "Laptop, 13 inch", true));
+        searchEngine.index(item(3L, "Macbook Pro", "Laptop, 16 inch", true));
+
+        assertEquals(List.of(3L, 2L), searchEngine.searchIds("macbook", 0, 10));
+        assertEquals(List.of(1L), searchEngine.searchIds("note", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Удалённые вещи должны пропадать из индекса")
+    void removeItems() {
+        searchEngine.remove(List.of(1L, 4L));
+
+        assertEquals(List.of(2L), searchEngine.searchIds("book", 0, 10));
+        assertTrue(searchEngine.searchIds("oak", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Поиск на период должен пропускать занятые вещи и отдавать страницу из свободных")
+    void searchSkipsBookedItems() {
+        BookingWindow window = new BookingWindow(LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 2, 0, 0));
+        when(namedJdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(4L));
+
+        assertEquals(List.of(1L, 2L), searchEngine.searchIds("book", window, 0, 10));
+        assertEquals(List.of(2L), searchEngine.searchIds("book", window, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Страница с from + size больше Integer.MAX_VALUE не должна переполнять границу выборки")
+    void searchWithHugePage() {
+        BookingWindow window = new BookingWindow(LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 2, 0, 0));
+        when(namedJdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(1L, 2L), searchEngine.searchIds("book", 1, Integer.MAX_VALUE));
+        assertEquals(List.of(1L, 2L), searchEngine.searchIds("book", window, 1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Изменение внутри транзакции должно попадать в индекс только после коммита")
+    void indexAppliesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(item(5L, "Kayak", "Two-seat kayak", true));
+            assertTrue(searchEngine.searchIds("kayak", 0, 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(5L), searchEngine.searchIds("kayak", 0, 10));
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
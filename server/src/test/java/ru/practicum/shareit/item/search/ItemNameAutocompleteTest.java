@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.InvalidPageException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameAutocompleteTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemNameAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new ItemNameAutocomplete(jdbcTemplate);
+        autocomplete.index(item(1L, "Дрель ударная", true));
+        autocomplete.index(item(2L, "Дрель", true));
+        autocomplete.index(item(3L, "Шуруповёрт-дрель", true));
+        autocomplete.index(item(4L, "Дрель аккумуляторная", false));
+    }
+
+    @Test
+    @DisplayName("Подсказки должны находить вещи по началу любого слова названия в порядке остатка названия")
+    void suggestByWordPrefix() {
+        assertEquals(List.of(2L, 3L, 1L), ids(autocomplete.suggest("ДР", 10)));
+        assertEquals(List.of(2L, 3L), ids(autocomplete.suggest("др", 2)));
+        assertEquals(List.of(1L), ids(autocomplete.suggest("дрель  уд", 10)));
+        assertEquals(List.of(1L), ids(autocomplete.suggest("удар", 10)));
+        assertTrue(autocomplete.suggest("рель", 10).isEmpty());
+        assertTrue(autocomplete.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Изменение вещи должно заменять её подсказки и убирать недоступные вещи")
+    void indexUpdatesItem() {
+        autocomplete.index(item(1L, "Перфоратор", true));
+        autocomplete.index(item(2L, "Дрель", false));
+
+        assertEquals(List.of(3L), ids(autocomplete.suggest("дрель", 10)));
+        assertEquals(List.of(1L), ids(autocomplete.suggest("перф", 10)));
+    }
+
+    @Test
+    @DisplayName("Размер меньше единицы должен выбросить исключение InvalidPageException")
+    void suggestWhenLimitNotPositive() {
+        assertThrows(InvalidPageException.class, () -> autocomplete.suggest("др", 0));
+        assertThrows(InvalidPageException.class, () -> autocomplete.suggest("др", -1));
+    }
+
+    private static List<Long> ids(List<ItemSuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(ItemSuggestionDto::getId)
+                .toList();
+    }
+
+    private static Item item(long id, String name, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SearchVocabularyTest {
+
+    @Autowired
+    private SearchVocabulary vocabulary;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Слова должны добавляться в транзакции изменения и откатываться вместе с ней")
+    void addInOuterTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            vocabulary.add(List.of("кувалда"));
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of("кувалды"), tokens(vocabulary.variants(List.of("кувалды"), 0.3)));
+
+        transactionTemplate.executeWithoutResult(status -> vocabulary.add(List.of("кувалда")));
+        assertEquals(List.of("кувалды", "кувалда"), tokens(vocabulary.variants(List.of("кувалды"), 0.3)));
+    }
+
+    @Test
+    @DisplayName("Параллельные транзакции с одинаковыми новыми словами должны ждать друг друга, а не падать")
+    void addSameWordsConcurrently() throws Exception {
+        CountDownLatch added = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                vocabulary.add(List.of("стамеска", "рубанок"));
+                added.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(added.await(10, TimeUnit.SECONDS));
+            CountDownLatch adding = new CountDownLatch(1);
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                adding.countDown();
+                vocabulary.add(List.of("рубанок", "стамеска", "напильник"));
+            }));
+            assertTrue(adding.await(10, TimeUnit.SECONDS));
+            // вторая транзакция ждёт на строках первой, пока та не закоммитится
+            assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS));
+            commit.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of("рубанок"), tokens(vocabulary.variants(List.of("рубанок"), 1.0)));
+        assertEquals(List.of("напильник"), tokens(vocabulary.variants(List.of("напильник"), 1.0)));
+    }
+
+    @Test
+    @DisplayName("Похожие слова должны искаться не больше чем для первых MAX_QUERY_WORDS слов запроса")
+    void variantsOfFirstQueryWords() {
+        List<String> words = SearchVocabulary.queryWords("a1 a2 a3 a4 a5 a6 a7 a8 a9 a10 a11 a12");
+
+        assertEquals(SearchVocabulary.MAX_QUERY_WORDS, words.size());
+        assertEquals(SearchVocabulary.MAX_QUERY_WORDS, vocabulary.variants(List.of("a1", "a2", "a3", "a4", "a5", "a6",
+                "a7", "a8", "a9", "a10", "a11", "a12"), 1.0).size());
+    }
+
+    private static List<String> tokens(List<SearchVocabulary.Variant> variants) {
+        return variants.stream()
+                .map(SearchVocabulary.Variant::token)
+                .toList();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.InvalidSimilarityException;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateResponseDto;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.request.dto.ItemRequestGetDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import static org.mockito.Mockito.verify;
@@ -115,7 +117,7 @@ class ItemRequestControllerTest {
     void getAllItemRequests() throws Exception {
         Set<ItemRequestGetDto> itemRequestGetDtos = Set.of(itemRequestGetDto);
 
-        when(itemRequestService.getAllItemRequests()).thenReturn(itemRequestGetDtos);
+        when(itemRequestService.getAllItemRequests(0, 10, null, null)).thenReturn(itemRequestGetDtos);
 
         mockMvc.perform(get("/requests/all")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -124,7 +126,53 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(mapper.writeValueAsString(itemRequestGetDtos)));
-        verify(itemRequestService).getAllItemRequests();
+        verify(itemRequestService).getAllItemRequests(0, 10, null, null);
+    }
+
+    @Test
+    void searchItemRequests() throws Exception {
+        List<ItemRequestGetDto> itemRequestGetDtos = List.of(itemRequestGetDto);
+
+        when(itemRequestService.searchItemRequests("drell", 0.4, 0, 10)).thenReturn(itemRequestGetDtos);
+
+        mockMvc.perform(get("/requests/search")
+                        .param("text", "drell")
+                        .param("similarity", "0.4")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(itemRequestGetDtos)));
+        verify(itemRequestService).searchItemRequests("drell", 0.4, 0, 10);
+    }
+
+    @Test
+    void searchItemRequestsWithInvalidSimilarity() throws Exception {
+        when(itemRequestService.searchItemRequests("drell", 0, 0, 10))
+                .thenThrow(new InvalidSimilarityException("Invalid similarity: 0.0"));
+
+        mockMvc.perform(get("/requests/search")
+                        .param("text", "drell")
+                        .param("similarity", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllItemRequestsWithCursor() throws Exception {
+        Set<ItemRequestGetDto> itemRequestGetDtos = Set.of(itemRequestGetDto);
+        LocalDateTime cursorCreated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        long cursorId = 5L;
+
+        when(itemRequestService.getAllItemRequests(0, 20, cursorCreated, cursorId)).thenReturn(itemRequestGetDtos);
+
+        mockMvc.perform(get("/requests/all")
+                        .param("from", "0")
+                        .param("size", "20")
+                        .param("cursorCreated", cursorCreated.toString())
+                        .param("cursorId", String.valueOf(cursorId))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(itemRequestGetDtos)));
+        verify(itemRequestService).getAllItemRequests(0, 20, cursorCreated, cursorId);
     }
 
     @Test
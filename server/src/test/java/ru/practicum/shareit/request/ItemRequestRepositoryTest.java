@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -40,9 +41,27 @@ class ItemRequestRepositoryTest {
 
         Collection<ItemRequest> expectedItemRequests = List.of(itemRequest3, itemRequest1, itemRequest2);
 
-        Collection<ItemRequest> itemRequests = itemRequestRepository.findAllSortedByCreatedDesc();
+        Collection<ItemRequest> itemRequests = itemRequestRepository.findAllSortedByCreatedDesc(PageRequest.of(0, 10));
         assertFalse(itemRequests.isEmpty());
         assertEquals(expectedItemRequests, itemRequests);
+
+        Collection<ItemRequest> firstPage = itemRequestRepository.findAllSortedByCreatedDesc(PageRequest.of(0, 2));
+        assertEquals(List.of(itemRequest3, itemRequest1), firstPage);
+    }
+
+    @Test
+    void findAllSortedByCreatedDescBeforeCursor() {
+        User user = userRepository.save(new User(null, "john", "john@gmail.com"));
+
+        LocalDateTime now = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+        ItemRequest itemRequest1 = itemRequestRepository.save(new ItemRequest(null, "macbook", user, now));
+        ItemRequest itemRequest2 = itemRequestRepository.save(new ItemRequest(null, "iphone", user, now));
+        ItemRequest itemRequest3 = itemRequestRepository.save(new ItemRequest(null, "ipad", user, now.minusDays(1)));
+
+        Collection<ItemRequest> itemRequests = itemRequestRepository.findAllSortedByCreatedDescBeforeCursor(
+                itemRequest2.getCreated(), itemRequest2.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(itemRequest1, itemRequest3), itemRequests);
     }
 
     @Test
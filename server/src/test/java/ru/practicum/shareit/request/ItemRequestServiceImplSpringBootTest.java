@@ -1,5 +1,8 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,13 +19,17 @@ import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Transactional
 class ItemRequestServiceImplSpringBootTest {
 
@@ -35,6 +42,9 @@ class ItemRequestServiceImplSpringBootTest {
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     void getAllItemRequests() {
         UserCreateDto userCreateDto1 = UserCreateDto.builder()
@@ -124,7 +134,7 @@ class ItemRequestServiceImplSpringBootTest {
                 .userId(userFullDto1.getId())
                 .build();
 
-        Collection<ItemRequestGetDto> allItemRequests = itemRequestService.getAllItemRequests();
+        Collection<ItemRequestGetDto> allItemRequests = itemRequestService.getAllItemRequests(0, 10, null, null);
 
         assertThat(allItemRequests)
                 .flatExtracting(ItemRequestGetDto::getItems)
@@ -136,4 +146,96 @@ class ItemRequestServiceImplSpringBootTest {
 
         assertEquals(2, allItemRequests.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllItemRequestsLoadsResponsesInOneQuery() {
+        UserFullDto requester = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("Nicolas")
+                .email("nicolas@gmail.com")
+                .build());
+
+        int requestsCount = 20;
+        for (int i = 0; i < requestsCount; i++) {
+            ItemRequestCreateResponseDto itemRequest = itemRequestService.createItemRequest(ItemRequestCreateDto.builder()
+                    .description("Request " + i)
+                    .build(), requester.getId());
+            itemService.create(owner.getId(), ItemCreateDto.builder()
+                    .name("Item " + i)
+                    .description("Item for request " + i)
+                    .available(true)
+                    .requestId(itemRequest.getId())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        Collection<ItemRequestGetDto> allItemRequests = itemRequestService.getAllItemRequests(0, requestsCount, null, null);
+
+        assertEquals(requestsCount, allItemRequests.size());
+        assertThat(allItemRequests).allSatisfy(request -> assertEquals(1, request.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllItemRequestsWithCursor() {
+        UserFullDto requester = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+
+        List<ItemRequestCreateResponseDto> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(itemRequestService.createItemRequest(ItemRequestCreateDto.builder()
+                    .description("Request " + i)
+                    .build(), requester.getId()));
+        }
+        List<Long> expectedIds = created.stream()
+                .sorted(Comparator.comparing(ItemRequestCreateResponseDto::getCreated)
+                        .thenComparing(ItemRequestCreateResponseDto::getId)
+                        .reversed())
+                .map(ItemRequestCreateResponseDto::getId)
+                .toList();
+
+        List<Long> fetchedIds = new ArrayList<>();
+        Collection<ItemRequestGetDto> page = itemRequestService.getAllItemRequests(0, 2, null, null);
+        while (!page.isEmpty()) {
+            page.forEach(request -> fetchedIds.add(request.getId()));
+            ItemRequestGetDto last = List.copyOf(page).get(page.size() - 1);
+            page = itemRequestService.getAllItemRequests(0, 2, last.getCreated(), last.getId());
+        }
+
+        assertEquals(expectedIds, fetchedIds);
+    }
+
+    @Test
+    void searchItemRequestsWithTypos() {
+        UserFullDto requester = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john@gmail.com")
+                .build());
+
+        ItemRequestCreateResponseDto drill = itemRequestService.createItemRequest(ItemRequestCreateDto.builder()
+                .description("Need a hammer drill for the weekend")
+                .build(), requester.getId());
+        ItemRequestCreateResponseDto ladder = itemRequestService.createItemRequest(ItemRequestCreateDto.builder()
+                .description("Looking for a ladder")
+                .build(), requester.getId());
+
+        assertEquals(List.of(drill.getId()), requestIds(itemRequestService.searchItemRequests("hamer dril", 0.3, 0, 10)));
+        assertEquals(List.of(ladder.getId()), requestIds(itemRequestService.searchItemRequests("LADER", 0.3, 0, 10)));
+        assertTrue(itemRequestService.searchItemRequests("hamer", 0.9, 0, 10).isEmpty());
+    }
+
+    private static List<Long> requestIds(Collection<ItemRequestGetDto> requests) {
+        return requests.stream().map(ItemRequestGetDto::getId).toList();
+    }
+}
@@ -7,9 +7,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import ru.practicum.shareit.OffsetPageRequest;
+import ru.practicum.shareit.exception.InvalidPageException;
+import ru.practicum.shareit.exception.InvalidSimilarityException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
@@ -21,11 +23,16 @@ import ru.practicum.shareit.user.UserRepository;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +51,13 @@ class ItemRequestServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper mapper;
+    private ItemRequestMapper mapper;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private ItemRequestSearchIndex searchIndex;
 
     private Item item;
     private User user;
@@ -83,6 +96,8 @@ class ItemRequestServiceImplTest {
                 .created(now)
                 .build();
 
+        item.setRequest(itemRequest);
+
         itemForRequestDto = ItemForRequestDto.builder()
                 .id(itemId)
                 .name("Laptop")
@@ -114,14 +129,15 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("Создание нового запроса должно возвращать ItemRequestCreateResponseDto")
     void createItemRequest() {
-        when(mapper.map(itemRequestCreateDto, ItemRequest.class)).thenReturn(itemRequest);
+        when(mapper.toItemRequest(itemRequestCreateDto)).thenReturn(itemRequest);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRequestRepository.save(itemRequest)).thenReturn(itemRequest);
-        when(mapper.map(itemRequest, ItemRequestCreateResponseDto.class)).thenReturn(itemRequestCreateResponseDto);
+        when(mapper.toItemRequestCreateResponseDto(itemRequest)).thenReturn(itemRequestCreateResponseDto);
 
         ItemRequestCreateResponseDto result = itemRequestService.createItemRequest(itemRequestCreateDto, userId);
         assertNotNull(result);
         assertEquals(result, itemRequestCreateResponseDto);
+        verify(searchIndex).index(itemRequest);
     }
 
     @Test
@@ -129,8 +145,7 @@ class ItemRequestServiceImplTest {
         when(userRepository.existsById(userId)).thenReturn(true);
         Collection<ItemRequest> itemRequests = Collections.singletonList(itemRequest);
         when(itemRequestRepository.findByRequesterId(userId)).thenReturn(itemRequests);
-        when(mapper.map(itemRequests, new TypeToken<Collection<ItemRequestGetDto>>() {
-        }.getType())).thenReturn(Collections.singletonList(itemRequestGetDto));
+        when(mapper.toItemRequestGetDtos(itemRequests)).thenReturn(Collections.singletonList(itemRequestGetDto));
 
         Collection<ItemRequestGetDto> result = itemRequestService.getAllUserItemRequests(userId);
         assertNotNull(result);
@@ -140,28 +155,38 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getAllItemRequests() {
-        when(itemRequestRepository.findAllSortedByCreatedDesc()).thenReturn(Collections.singletonList(itemRequest));
+        when(itemRequestRepository.findAllSortedByCreatedDesc(OffsetPageRequest.of(0, 10))).thenReturn(Collections.singletonList(itemRequest));
 
         Collection<ItemRequest> itemRequests = Collections.singletonList(itemRequest);
 
-        when(mapper.map(itemRequests, new TypeToken<Collection<ItemRequestGetDto>>() {
-        }.getType())).thenReturn(Collections.singletonList(itemRequestGetDto));
+        when(mapper.toItemRequestGetDtos(itemRequests)).thenReturn(Collections.singletonList(itemRequestGetDto));
+        when(itemRepository.findAllByRequestIdIn(List.of(requestId))).thenReturn(List.of(item));
+        when(itemMapper.toItemForRequestDtos(Set.of(item))).thenReturn(Set.of(itemForRequestDto));
 
-        Collection<ItemRequestGetDto> result = itemRequestService.getAllItemRequests();
+        Collection<ItemRequestGetDto> result = itemRequestService.getAllItemRequests(0, 10, null, null);
         assertNotNull(result);
         assertEquals(result, Collections.singletonList(itemRequestGetDto));
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(requestId));
+    }
+
+    @Test
+    void searchItemRequestsWithInvalidParameters() {
+        assertThrows(InvalidPageException.class, () -> itemRequestService.searchItemRequests("drill", 0.3, -1, 10));
+        assertThrows(InvalidPageException.class, () -> itemRequestService.searchItemRequests("drill", 0.3, 0, 0));
+        assertThrows(InvalidSimilarityException.class, () -> itemRequestService.searchItemRequests("drill", 0, 0, 10));
+        assertThrows(InvalidSimilarityException.class, () -> itemRequestService.searchItemRequests("drill", 1.5, 0, 10));
+        verifyNoInteractions(searchIndex);
     }
 
     @Test
     void getItemRequest() {
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
-        when(mapper.map(itemRequest, ItemRequestGetDto.class)).thenReturn(itemRequestGetDto);
+        when(mapper.toItemRequestGetDto(itemRequest)).thenReturn(itemRequestGetDto);
 
         Set<Item> itemsByRequestId = Set.of(item);
 
-        when(itemRepository.findAllByRequestId(requestId)).thenReturn(itemsByRequestId);
-        when(mapper.map(itemsByRequestId, new TypeToken<Set<ItemForRequestDto>>() {
-        }.getType())).thenReturn(Set.of(itemForRequestDto));
+        when(itemRepository.findAllByRequestIdIn(List.of(requestId))).thenReturn(List.of(item));
+        when(itemMapper.toItemForRequestDtos(itemsByRequestId)).thenReturn(Set.of(itemForRequestDto));
 
         ItemRequestGetDto result = itemRequestService.getItemRequest(requestId);
         assertNotNull(result);
@@ -1,16 +1,26 @@
 package ru.practicum.shareit.user;
 
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.search.ItemNameAutocomplete;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -19,6 +29,12 @@ class UserServiceImplSpringBootTest {
     @Autowired
     UserService userService;
 
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemNameAutocomplete itemNameAutocomplete;
+
     @Test
     void update() {
         UserCreateDto userCreateDto1 = UserCreateDto.builder()
@@ -50,4 +66,26 @@ class UserServiceImplSpringBootTest {
 
         assertThrows(UserNotFoundException.class, () -> userService.update(UserUpdateDto.builder().build(), -1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Удаление владельца должно убирать его вещи из подсказок")
+    void deleteOwnerRemovesItemSuggestions() {
+        UserFullDto owner = userService.create(UserCreateDto.builder()
+                .name("John")
+                .email("john.delete@gmail.com")
+                .build());
+        ItemFullDto item = itemService.create(owner.getId(), ItemCreateDto.builder()
+                .name("Гидроцикл")
+                .description("Двухместный")
+                .available(true)
+                .build());
+        assertEquals(List.of(item.getId()), itemNameAutocomplete.suggest("гидроц", 10).stream()
+                .map(ItemSuggestionDto::getId)
+                .toList());
+
+        userService.delete(owner.getId());
+
+        assertTrue(itemNameAutocomplete.suggest("гидроц", 10).isEmpty());
+    }
+}
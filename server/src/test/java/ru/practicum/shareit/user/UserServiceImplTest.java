@@ -1,25 +1,35 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingIntervals;
+import ru.practicum.shareit.booking.ItemBookingReferences;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameAutocomplete;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserFullDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.anyCollection;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,11 +41,38 @@ class UserServiceImplTest {
     private UserServiceImpl userService;
 
     @Mock
-    private ModelMapper mapper;
+    private UserMapper mapper;
 
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Mock
+    private ItemBookingIntervals itemBookingIntervals;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemBookingReferences itemBookingReferences;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemNameAutocomplete itemNameAutocomplete;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
     private UserFullDto userFullDto;
     private UserCreateDto userCreateDto;
     private UserUpdateDto userUpdateDto;
@@ -70,8 +107,7 @@ class UserServiceImplTest {
     @Test
     void getAll() {
         when(repository.findAll()).thenReturn(Collections.singletonList(user));
-        when(mapper.map(anyCollection(), eq(new TypeToken<Collection<UserFullDto>>() {
-        }.getType()))).thenReturn(Collections.singletonList(userFullDto));
+        when(mapper.toUserFullDtos(anyCollection())).thenReturn(Collections.singletonList(userFullDto));
 
         Collection<UserFullDto> result = userService.getAll();
         assertNotNull(result);
@@ -81,7 +117,7 @@ class UserServiceImplTest {
     @Test
     void getById() {
         when(repository.findById(userId)).thenReturn(Optional.of(user));
-        when(mapper.map(user, UserFullDto.class)).thenReturn(userFullDto);
+        when(mapper.toUserFullDto(user)).thenReturn(userFullDto);
 
         UserFullDto result = userService.getById(userId);
         assertNotNull(result);
@@ -90,9 +126,9 @@ class UserServiceImplTest {
 
     @Test
     void create() {
-        when(mapper.map(userCreateDto, User.class)).thenReturn(user);
+        when(mapper.toUser(userCreateDto)).thenReturn(user);
         when(repository.save(user)).thenReturn(user);
-        when(mapper.map(user, UserFullDto.class)).thenReturn(userFullDto);
+        when(mapper.toUserFullDto(user)).thenReturn(userFullDto);
 
         UserFullDto result = userService.create(userCreateDto);
         assertNotNull(result);
@@ -115,7 +151,7 @@ class UserServiceImplTest {
                 .build();
 
         when(repository.save(user)).thenReturn(user);
-        when(mapper.map(user, UserFullDto.class)).thenReturn(userFullDtoUpdated);
+        when(mapper.toUserFullDto(user)).thenReturn(userFullDtoUpdated);
 
         UserFullDto result = userService.update(userUpdateDto, userId);
         assertNotNull(result);
@@ -126,7 +162,18 @@ class UserServiceImplTest {
     @Test
     void delete() {
         when(repository.existsById(userId)).thenReturn(true);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(itemRepository.findIdsByUserId(userId)).thenReturn(List.of(2L, 3L));
+        when(bookingRepository.findItemIdsByBookerIdAndStatus(userId, BookingStatus.APPROVED)).thenReturn(List.of(4L));
         userService.delete(userId);
         verify(repository).deleteById(userId);
+        verify(cache).evict(Item.class);
+        verify(cache).evict(ItemRequest.class);
+        verify(itemRepository).findAllByIdInForUpdate(List.of(4L));
+        verify(itemBookingReferences).onStatusesChanged(List.of(4L));
+        verify(itemDetailsCache).evictAll();
+        verify(itemBookingIntervals).evictAll();
+        verify(itemNameAutocomplete).remove(List.of(2L, 3L));
+        verify(itemSearchEngine).remove(List.of(2L, 3L));
     }
 }
\ No newline at end of file